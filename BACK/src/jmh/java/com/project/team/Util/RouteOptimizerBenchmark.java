@@ -0,0 +1,53 @@
+package com.project.team.Util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RouteOptimizer 한 번 실행 시간. (RouteOptimizer 클래스 주석의 "50개 경유지 기준 수 ms 이내" 확인용)
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteOptimizerBenchmark {
+
+    // 입력마다 결과가 달라지는 것을 평균내기 위한 무작위 경로 수
+    private static final int INPUTS = 64;
+
+    @Param({"10", "30", "50"})
+    private int stops;
+
+    private double[][] latitudes;
+    private double[][] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[INPUTS][stops];
+        longitudes = new double[INPUTS][stops];
+        for (int i = 0; i < INPUTS; i++) {
+            for (int j = 0; j < stops; j++) {
+                // 도쿄 부근 약 20km 범위
+                latitudes[i][j] = 35.68 + random.nextDouble() * 0.2;
+                longitudes[i][j] = 139.76 + random.nextDouble() * 0.2;
+            }
+        }
+    }
+
+    @Benchmark
+    public RouteOptimizer.Result optimize() {
+        int i = next++ & (INPUTS - 1);
+        return RouteOptimizer.optimize(latitudes[i], longitudes[i], true, false);
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.team.Config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC 쓰기 배치 설정.
+ * IDENTITY 로 id 를 만드는 엔티티는 persist 할 때마다 INSERT 를 바로 실행해야 해서 Hibernate 가 배치를 쓰지 않는다.
+ * 그래서 여러 건씩 저장하는 엔티티는 시퀀스에서 ID_ALLOCATION_SIZE 개씩 미리 받아 두고(pooled),
+ * INSERT/UPDATE 는 엔티티 종류별로 모아 batch-size 건씩 한 번에 보낸다.
+ * (시퀀스 생성과 기존 데이터에 맞춘 시작값은 IdSequenceMigration)
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    // @SequenceGenerator allocationSize. 시퀀스의 INCREMENT BY 와 같아야 한다.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Value("${jpa.batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
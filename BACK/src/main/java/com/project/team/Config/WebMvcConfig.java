@@ -0,0 +1,22 @@
+package com.project.team.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * 스트리밍 응답(StreamingResponseBody) 타임아웃.
+     * 기본값(Tomcat 30초)으로는 항공편 크롤링이 끝나기 전에 응답이 끊기므로 늘려준다.
+     */
+    @Value("${web.async.timeout-ms:120000}")
+    private long asyncTimeoutMillis;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMillis);
+    }
+}
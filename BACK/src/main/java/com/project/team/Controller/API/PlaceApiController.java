@@ -3,6 +3,8 @@ package com.project.team.Controller.API;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.project.team.Dto.API.PlaceApiRequest;
 import com.project.team.Service.API.PlaceApiService;
+import com.project.team.Service.PlaceSearchService;
+import com.project.team.Util.CoalescingCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -12,17 +14,21 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 @Tag(name = "외부 연동 API")
 @RestController
 @RequiredArgsConstructor
 public class PlaceApiController {
 
     private final PlaceApiService placeApiService;
+    private final PlaceSearchService placeSearchService;
 
     @GetMapping("/place")
-    @Operation(summary = "Google 장소 검색", description = "키워드와 위치 기반으로 주변 장소를 검색합니다.")
+    @Operation(summary = "Google 장소 검색", description = "키워드와 위치 기반으로 주변 장소를 검색합니다. " +
+            "저장된 장소 중 조건에 맞는 것이 충분하면 Google 을 호출하지 않고 바로 응답합니다.")
     public Mono<JsonNode> getPlaceApi(PlaceApiRequest placeApiRequest) {
-        return placeApiService.fetchPlaceApiData(placeApiRequest);
+        return placeSearchService.searchNearby(placeApiRequest);
     }
 
     @GetMapping("/geocode")
@@ -31,5 +37,10 @@ public class PlaceApiController {
         return placeApiService.fetchGeocodingApiData(address);
     }
 
+    @GetMapping("/place/cache/stats")
+    @Operation(summary = "Google 장소 API 캐시 통계", description = "장소 검색/상세 정보 캐시의 hit/miss/coalesced 횟수와 절약한 호출 수를 반환합니다.")
+    public Map<String, CoalescingCache.Stats> getPlaceCacheStats() {
+        return placeApiService.cacheStats();
+    }
 
 }
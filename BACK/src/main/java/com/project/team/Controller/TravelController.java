@@ -6,12 +6,15 @@ import com.project.team.Dto.Travel.UpdateTravelRequest;
 import com.project.team.Entity.Travel;
 import com.project.team.Repository.TravelRepository;
 import com.project.team.Repository.UserRepository;
+import com.project.team.Security.AuthUser;
+import com.project.team.Security.CurrentUser;
 import com.project.team.Service.TravelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.project.team.Service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,8 +31,8 @@ public class TravelController {
     // 새로운 여행 계획 생성
     @Operation(summary = "새로운 여행 생성", description = "새로운 여행 계획을 생성합니다.")
     @PostMapping("/travels")
-    public ResponseEntity<Travel> createTravel(@RequestBody CreateTravelRequest dto, Principal principal) {
-        return travelService.createTravel(dto, principal);
+    public ResponseEntity<Travel> createTravel(@RequestBody CreateTravelRequest dto, @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return travelService.createTravel(dto, user.id());
     }
 
     // 사용자가 접근 가능한 모든 여행 목록 조회
@@ -43,8 +46,8 @@ public class TravelController {
     @Operation(summary = "특정 여행 상세 정보 조회", description = "특정 여행의 제목, 날짜 등 기본 정보를 조회합니다.")
     @GetMapping("/travels/{travelId}")
     public ResponseEntity<TravelResponse> getTravelDetails(
-            @Parameter(description = "조회할 여행의 ID") @PathVariable Long travelId, Principal principal) {
-        return ResponseEntity.ok(travelService.getTravelDetails(travelId, principal));
+            @Parameter(description = "조회할 여행의 ID") @PathVariable Long travelId, @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return ResponseEntity.ok(travelService.getTravelDetails(travelId, user.id()));
     }
 
     // 특정 여행의 기본 정보 수정
@@ -53,8 +56,17 @@ public class TravelController {
     public ResponseEntity<TravelResponse> updateTravel(
             @Parameter(description = "수정할 여행의 ID") @PathVariable Long travelId,
             @RequestBody UpdateTravelRequest request,
-            Principal principal) {
-        return ResponseEntity.ok(travelService.updateTravel(travelId, request, principal));
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return ResponseEntity.ok(travelService.updateTravel(travelId, request, user.id()));
+    }
+
+    // 여행 복사 (OWNER만 가능)
+    @Operation(summary = "여행 복사", description = "여행 정보와 전체 일정, 공유 권한을 복사한 새 여행을 만듭니다. (소유자만 가능, 항공편/채팅은 복사하지 않음)")
+    @PostMapping("/travels/{travelId}/clone")
+    public ResponseEntity<TravelResponse> cloneTravel(
+            @Parameter(description = "복사할 여행의 ID") @PathVariable Long travelId,
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(travelService.cloneTravel(travelId, user.id()));
     }
 
     // 특정 여행 삭제 (OWNER만 가능)
@@ -62,8 +74,8 @@ public class TravelController {
     @DeleteMapping("/travels/{travelId}")
     public ResponseEntity<?> deleteTravel(
             @Parameter(description = "삭제할 여행의 ID") @PathVariable Long travelId ,
-            Principal principal) {
-        travelService.deleteTravel(travelId,principal);
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        travelService.deleteTravel(travelId, user.id());
         return ResponseEntity.noContent().build();
     }
 
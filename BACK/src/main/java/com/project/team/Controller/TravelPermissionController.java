@@ -4,6 +4,8 @@ import com.project.team.Dto.Travel.TravelResponse;
 import com.project.team.Dto.TravelPermission.TravelPermissionCreateRequest;
 import com.project.team.Dto.TravelPermission.TravelPermissionResponse;
 import com.project.team.Dto.TravelPermission.TravelPermissionUpdateRequest;
+import com.project.team.Security.AuthUser;
+import com.project.team.Security.CurrentUser;
 import com.project.team.Service.TravelPermissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,7 +15,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 
 @Tag(name = "여행 공유 API", description = "여행 공유 및 사용자 권한을 관리합니다.")
@@ -78,12 +79,12 @@ public class TravelPermissionController {
     }
 
     @GetMapping("/travels/share")
-    public ResponseEntity<List<TravelResponse>> getSharedTravels(Principal principal) {
-        return ResponseEntity.ok(permissionService.getSharedTravels(principal));
+    public ResponseEntity<List<TravelResponse>> getSharedTravels(@Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return ResponseEntity.ok(permissionService.getSharedTravels(user.id()));
     }
 
     @GetMapping("/travels/{travelId}/role")
-    public ResponseEntity<String> getTravelRole(@PathVariable Long travelId, Principal principal) {
-        return ResponseEntity.ok(permissionService.getTravelRole(travelId, principal));
+    public ResponseEntity<String> getTravelRole(@PathVariable Long travelId, @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        return ResponseEntity.ok(permissionService.getTravelRole(travelId, user.id()));
     }
 }
\ No newline at end of file
@@ -1,26 +1,36 @@
 package com.project.team.Controller;
 
 import com.project.team.Dto.Travel.AddPlanRequest;
+import com.project.team.Dto.Travel.DayPlansResponse;
+import com.project.team.Dto.Travel.PlanBatchRequest;
+import com.project.team.Dto.Travel.RouteOptimizeResponse;
 import com.project.team.Dto.Travel.TravelPlanResponse;
 import com.project.team.Dto.Travel.TravelPlanUpdateRequest;
-import com.project.team.Entity.User;
-import com.project.team.Repository.UserRepository;
+import com.project.team.Security.AuthUser;
+import com.project.team.Security.CurrentUser;
+import com.project.team.Service.TravelExportService;
 import com.project.team.Service.TravelPlanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
+@Slf4j
 @Tag(name = "세부 일정 API", description = "여행의 세부 일정(TravelPlan)을 관리합니다.")
 @RestController
 @RequiredArgsConstructor
@@ -28,21 +38,22 @@ import java.util.List;
 public class TravelPlanController {
 
     private final TravelPlanService travelPlanService;
-    private final UserRepository userRepository;
+    private final TravelExportService travelExportService;
 
-    public User findUser(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("해당 유저를 찾을 수 없습니다."));
-    }
-
-
-    @Operation(summary = "세부 일정 목록 조회", description = "특정 여행에 포함된 모든 세부 일정을 조회합니다.")
+    @Operation(summary = "세부 일정 목록 조회", description = "특정 여행에 포함된 모든 세부 일정을 조회합니다. " +
+            "응답의 ETag 를 If-None-Match 로 보내면 바뀐 것이 없을 때 304 를 반환합니다.")
     @GetMapping
     public ResponseEntity<List<TravelPlanResponse>> getTravelPlans(
             @Parameter(description = "일정을 조회할 여행의 ID") @PathVariable Long travelId,
-            Principal principal) {
-        List<TravelPlanResponse> responses = travelPlanService.getTravelPlans(travelId, findUser(principal.getName()));
-        return ResponseEntity.ok(responses);
+            @Parameter(hidden = true) @CurrentUser AuthUser user,
+            WebRequest webRequest) {
+        // 버전을 일정보다 먼저 읽는다. (그 사이 변경이 있으면 다음 조회 때 다시 받게 됨)
+        String eTag = "\"" + travelPlanService.getPlanVersion(travelId, user.id()) + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified (일정 테이블 조회 없음)
+        }
+        List<TravelPlanResponse> responses = travelPlanService.getTravelPlans(travelId, user.id());
+        return ResponseEntity.ok().eTag(eTag).body(responses);
     }
 
     @Operation(summary = "세부 일정 수정", description = "특정 세부 일정의 날짜, 순서, 메모를 수정합니다.")
@@ -51,8 +62,8 @@ public class TravelPlanController {
             @Parameter(description = "수정할 일정이 속한 여행의 ID") @PathVariable Long travelId,
             @Parameter(description = "수정할 세부 일정의 ID") @PathVariable Long planId,
             @RequestBody @Valid TravelPlanUpdateRequest request,
-            Principal principal) {
-        TravelPlanResponse response = travelPlanService.updateTravelPlan(travelId, planId, request, findUser(principal.getName()));
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        TravelPlanResponse response = travelPlanService.updateTravelPlan(travelId, planId, request, user.id());
         return ResponseEntity.ok(response);
     }
 
@@ -61,8 +72,8 @@ public class TravelPlanController {
     public ResponseEntity<?> deleteTravelPlan(
             @Parameter(description = "삭제할 일정이 속한 여행의 ID") @PathVariable Long travelId,
             @Parameter(description = "삭제할 세부 일정의 ID") @PathVariable Long planId,
-            Principal principal
-    ){ travelPlanService.deleteTravelPlan(travelId,planId,findUser(principal.getName()));
+            @Parameter(hidden = true) @CurrentUser AuthUser user
+    ){ travelPlanService.deleteTravelPlan(travelId,planId,user.id());
         return ResponseEntity.noContent().build();
     }
 
@@ -71,8 +82,69 @@ public class TravelPlanController {
     public ResponseEntity<TravelPlanResponse> addPlanToTravel(
             @Parameter(description = "일정을 추가할 여행의 ID") @PathVariable Long travelId,
             @RequestBody @Valid AddPlanRequest request,
-            Principal principal) {
-        TravelPlanResponse response = travelPlanService.addPlan(travelId, request, findUser(principal.getName()));
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        TravelPlanResponse response = travelPlanService.addPlan(travelId, request, user.id());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    @Operation(summary = "일차 경로 최적화", description = "해당 일차의 일정 순서를 이동 거리가 가장 짧아지도록 다시 정합니다. " +
+            "fixFirst/fixLast 를 보내지 않으면 첫/마지막 일정이 숙소일 때만 고정합니다.")
+    @PostMapping("/days/{dayNumber}/optimize")
+    public ResponseEntity<RouteOptimizeResponse> optimizeDay(
+            @Parameter(description = "일정을 최적화할 여행의 ID") @PathVariable Long travelId,
+            @Parameter(description = "최적화할 일차") @PathVariable int dayNumber,
+            @Parameter(description = "첫 일정 고정 여부") @RequestParam(required = false) Boolean fixFirst,
+            @Parameter(description = "마지막 일정 고정 여부") @RequestParam(required = false) Boolean fixLast,
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        RouteOptimizeResponse response = travelPlanService.optimizeDay(travelId, dayNumber, fixFirst, fixLast, user.id());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "여행 일정 내보내기", description = "여행 정보, 저장한 항공편, 일차별 일정을 JSON/ICS(캘린더)/CSV 파일로 내려줍니다. " +
+            "일정은 DB 에서 읽는 대로 바로 쓰며, Accept-Encoding 에 gzip 이 있으면 압축해서 보냅니다.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTravelPlans(
+            @Parameter(description = "내보낼 여행의 ID") @PathVariable Long travelId,
+            @Parameter(description = "내보내기 형식 (json, ics, csv)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        // 권한/형식 확인은 응답을 시작하기 전에 한다. (실패하면 4xx)
+        TravelExportService.Format exportFormat = TravelExportService.Format.from(format);
+        String fileName = travelExportService.prepare(travelId, exportFormat, user.id());
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                    travelExportService.write(travelId, exportFormat, compressed);
+                    compressed.finish(); // out 은 서블릿 컨테이너가 닫는다.
+                } else {
+                    travelExportService.write(travelId, exportFormat, out);
+                }
+            } catch (UncheckedIOException e) {
+                log.debug("일정 내보내기 중 클라이언트 연결 종료: {}", e.getMessage());
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @Operation(summary = "세부 일정 일괄 변경", description = "여러 일정의 추가/이동/삭제를 한 번에 적용하고, 변경된 일차들의 최종 일정 목록을 반환합니다.")
+    @PostMapping("/batch")
+    public ResponseEntity<List<DayPlansResponse>> applyPlanBatch(
+            @Parameter(description = "일정을 변경할 여행의 ID") @PathVariable Long travelId,
+            @RequestBody @Valid PlanBatchRequest request,
+            @Parameter(hidden = true) @CurrentUser AuthUser user) {
+        List<DayPlansResponse> responses = travelPlanService.applyPlanBatch(travelId, request, user.id());
+        return ResponseEntity.ok(responses);
+    }
 }
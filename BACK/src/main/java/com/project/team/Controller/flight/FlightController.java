@@ -1,35 +1,159 @@
 package com.project.team.Controller.flight;
 
 import com.project.team.Entity.flight.Flight;
+import com.project.team.Dto.flight.FareMatrixRequest;
 import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightPriceTrendPoint;
+import com.project.team.Dto.flight.FlightSearchJobResponse;
 import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Service.flight.FareMatrixService;
+import com.project.team.Service.flight.FlightPriceHistoryService;
+import com.project.team.Service.flight.FlightSearchCache;
+import com.project.team.Service.flight.FlightSearchJob;
+import com.project.team.Service.flight.FlightSearchJobScheduler;
 import com.project.team.Service.flight.FlightService;
-import com.project.team.Service.flight.PythonExecutorService;
+import com.project.team.Util.CoalescingCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @Tag(name = "항공편 API", description = "항공편 검색 및 저장을 처리합니다.")
 @RestController
 @RequiredArgsConstructor
 public class FlightController {
-    private final PythonExecutorService pythonExecutorService;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchJobScheduler flightSearchJobScheduler;
     private final FlightService flightService;
+    private final FareMatrixService fareMatrixService;
+    private final FlightPriceHistoryService flightPriceHistoryService;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "항공편 검색", description = "주어진 조건으로 항공편을 검색하여 결과를 반환합니다.")
     @GetMapping("/flight")
     public List<FlightData> searchFlights(FlightSearchRequest dtp) {
-        return pythonExecutorService.executeFlightCrawler(
-                dtp.depAp(),
-                dtp.arrAp(),
-                dtp.depDate(),
-                dtp.retDate(),
-                dtp.adult()
-        );
+        return flightSearchCache.search(dtp);
+    }
+
+    @Operation(summary = "항공편 스트리밍 검색", description = "항공편을 찾는 대로 한 줄에 하나씩(NDJSON) 내려줍니다. 실패하면 마지막 줄에 {\"error\": ...} 를 보냅니다.")
+    @GetMapping(value = "/flight/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamFlights(FlightSearchRequest dtp) {
+        StreamingResponseBody body = out -> {
+            try {
+                flightSearchCache.stream(dtp, flight -> writeLine(out, flight));
+            } catch (UncheckedIOException e) {
+                log.debug("항공편 스트리밍 중 클라이언트 연결 종료: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                writeLine(out, Map.of("error", String.valueOf(e.getMessage())));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header("X-Accel-Buffering", "no") // 프록시(nginx)가 모아서 보내지 않도록
+                .body(body);
+    }
+
+    @Operation(summary = "항공편 요금 매트릭스", description = "출발일 ±flexDays 일 × 여러 도착 공항의 칸별 최저가를 완성되는 대로 한 줄에 하나씩(NDJSON) 내려줍니다. " +
+            "한 번에 크롤링할 수 있는 칸 수를 넘는 칸은 pending=true 로 내려가며, 다시 요청하면 이어서 검색합니다.")
+    @GetMapping(value = "/flight/matrix", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> searchFareMatrix(FareMatrixRequest request) {
+        // 검증은 응답을 시작하기 전에 해서 잘못된 요청은 400 으로 돌려준다.
+        List<FlightSearchRequest> cells = fareMatrixService.expand(request);
+        // 전역 비동기 타임아웃(web.async.timeout-ms) 대신 매트릭스 전용 응답 시간을 쓴다.
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(fareMatrixService.timeoutMillis());
+        fareMatrixService.streamAsync(cells, cell -> sendLine(emitter, cell)).whenComplete((ignored, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause == null) {
+                emitter.complete();
+            } else if (cause instanceof UncheckedIOException || cause instanceof IllegalStateException) {
+                // 클라이언트 연결 종료 또는 응답 시간 초과로 emitter 가 이미 닫힘
+                log.debug("요금 매트릭스 스트리밍 중단: {}", cause.getMessage());
+            } else {
+                try {
+                    sendLine(emitter, Map.of("error", String.valueOf(cause.getMessage())));
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private void sendLine(ResponseBodyEmitter emitter, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            emitter.send(line, MediaType.APPLICATION_OCTET_STREAM);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            // writeValue(out, ...) 는 스트림을 닫아버리므로 바이트로 만들어 직접 쓴다.
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Operation(summary = "항공편 비동기 검색 요청", description = "검색 작업을 등록하고 작업 ID를 즉시 반환합니다. 결과는 폴링하거나 /chat/flights/{jobId} 를 구독해 받습니다.")
+    @PostMapping("/flight/searches")
+    public ResponseEntity<FlightSearchJobResponse> submitSearch(@RequestBody FlightSearchRequest request, Principal principal) {
+        FlightSearchJob job = flightSearchJobScheduler.submit(request, principal.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/flight/searches/" + job.getId()))
+                .body(new FlightSearchJobResponse(job));
+    }
+
+    @Operation(summary = "항공편 비동기 검색 결과 조회", description = "검색 작업의 상태와 (완료 시) 결과를 반환합니다.")
+    @GetMapping("/flight/searches/{jobId}")
+    public FlightSearchJobResponse getSearch(
+            @Parameter(description = "검색 작업 ID") @PathVariable String jobId) {
+        return new FlightSearchJobResponse(flightSearchJobScheduler.getJob(jobId));
+    }
+
+    @Operation(summary = "노선별 항공권 가격 추이", description = "출발일 구간(from~to, yyyyMMdd)의 여행 날짜별 최저가/중앙값 추이를 반환합니다. 기본 구간은 오늘부터 90일입니다.")
+    @GetMapping("/flight/price-history")
+    public List<FlightPriceTrendPoint> getPriceTrend(
+            @RequestParam String depAp,
+            @RequestParam String arrAp,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "1") int adult) {
+        return flightPriceHistoryService.getTrend(depAp, arrAp, from, to, adult);
+    }
+
+    @Operation(summary = "항공편 검색 캐시 통계", description = "검색 결과 캐시의 hit/miss/coalesced 횟수를 반환합니다.")
+    @GetMapping("/flight/cache/stats")
+    public CoalescingCache.Stats getSearchCacheStats() {
+        return flightSearchCache.stats();
     }
     
     @Operation(summary = "여행에 항공편 추가", description = "특정 여행(Travel)에 선택한 항공편 정보를 저장합니다.")
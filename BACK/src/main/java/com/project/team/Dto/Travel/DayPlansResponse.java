@@ -0,0 +1,11 @@
+package com.project.team.Dto.Travel;
+
+import java.util.List;
+
+/**
+ * 한 일차의 일정 목록 (순서대로)
+ */
+public record DayPlansResponse(
+        int dayNumber,
+        List<TravelPlanResponse> plans
+) {}
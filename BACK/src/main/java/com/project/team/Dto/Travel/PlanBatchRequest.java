@@ -0,0 +1,32 @@
+package com.project.team.Dto.Travel;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 여러 일정 변경을 한 번에 적용하는 요청. operations 는 순서대로 적용된다.
+ */
+public record PlanBatchRequest(
+        @NotEmpty(message = "변경할 내용이 없습니다.") @Size(max = 200, message = "한 번에 200개까지만 변경할 수 있습니다.")
+        List<@Valid @NotNull Operation> operations
+) {
+    public enum Type {
+        INSERT, // plan 의 장소를 dayNumber 일차 sequence 번째에 추가
+        MOVE,   // planId 일정을 dayNumber 일차 sequence 번째로 이동 (memo 가 있으면 함께 수정)
+        DELETE  // planId 일정 삭제
+    }
+
+    public record Operation(
+            @NotNull(message = "변경 유형은 필수입니다.")
+            Type type,
+            Long planId,
+            Integer dayNumber,
+            Integer sequence,
+            String memo,
+            AddPlanRequest plan
+    ) {}
+}
@@ -0,0 +1,13 @@
+package com.project.team.Dto.Travel;
+
+import java.util.List;
+
+/**
+ * 일차 경로 최적화 결과. 거리는 좌표가 있는 일정 사이의 직선(대원) 거리 합계(m)
+ */
+public record RouteOptimizeResponse(
+        int dayNumber,
+        long beforeMeters,
+        long afterMeters,
+        List<TravelPlanResponse> plans
+) {}
@@ -0,0 +1,51 @@
+package com.project.team.Dto.Travel;
+
+import java.util.List;
+
+/**
+ * /chat/travels/{travelId} 로 보내는 여행 변경 이벤트. 커밋된 뒤에만 전송된다. (TravelEventRelay)
+ * 클라이언트는 version 이 자신이 가진 버전 + 1 이면 아래 규칙대로 로컬 상태를 고치고, 아니면(놓친 이벤트가 있으면) 다시 조회한다.
+ *
+ * @param version 변경 후 일정 목록 버전 (일정 조회 ETag 와 같은 값). 일정과 관계없는 이벤트(MEMBERS_UPDATED)는 null
+ * @param days    plans 가 이 일차들의 전체 목록임을 뜻한다. 클라이언트는 이 일차들을 plans 로 통째로 바꾼다.
+ * @param plans   days 가 비어 있으면 바뀐 일정 행들 (같은 planId 를 덮어씀)
+ * @param place   PLACE_UPDATED 일 때 새 장소 정보 (같은 placeId 를 가진 일정의 장소를 덮어씀)
+ */
+public record TravelPlanEvent(
+        Type type,
+        Long travelId,
+        Long version,
+        List<Integer> days,
+        List<TravelPlanResponse> plans,
+        PlaceResponse place
+) {
+    public enum Type {
+        PLAN_ADDED,
+        PLAN_MOVED,
+        PLAN_DELETED,
+        PLAN_EDITED,     // 메모 수정 (순서 변화 없음)
+        PLANS_CHANGED,   // 일괄 변경, 경로 최적화
+        PLACE_UPDATED,   // 장소 상세 정보 갱신
+        MEMBERS_UPDATED  // 공유 멤버/권한 변경
+    }
+
+    // 일차 전체 목록을 담은 이벤트
+    public static TravelPlanEvent ofDays(Type type, Long travelId, long version, List<DayPlansResponse> days) {
+        return new TravelPlanEvent(type, travelId, version,
+                days.stream().map(DayPlansResponse::dayNumber).toList(),
+                days.stream().flatMap(day -> day.plans().stream()).toList(),
+                null);
+    }
+
+    public static TravelPlanEvent ofRows(Type type, Long travelId, long version, List<TravelPlanResponse> plans) {
+        return new TravelPlanEvent(type, travelId, version, List.of(), plans, null);
+    }
+
+    public static TravelPlanEvent placeUpdated(Long travelId, long version, PlaceResponse place) {
+        return new TravelPlanEvent(Type.PLACE_UPDATED, travelId, version, List.of(), List.of(), place);
+    }
+
+    public static TravelPlanEvent membersUpdated(Long travelId) {
+        return new TravelPlanEvent(Type.MEMBERS_UPDATED, travelId, null, List.of(), List.of(), null);
+    }
+}
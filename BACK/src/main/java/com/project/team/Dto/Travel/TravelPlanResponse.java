@@ -7,10 +7,16 @@ public record TravelPlanResponse(
         int dayNumber,
         int sequence,
         String memo,
+        long version,
         PlaceResponse place
 ) {
-    // TravelPlan 엔티티를 인자로 받는 생성자
-    public TravelPlanResponse(TravelPlan travelPlan) {
-        this(travelPlan.getId(), travelPlan.getDayNumber(), travelPlan.getSequence(), travelPlan.getMemo(), new PlaceResponse(travelPlan.getPlace()));
+    // TravelPlan 엔티티와 일차 안에서의 순서(1부터 빈틈없이 매긴 값)를 받는 생성자
+    public TravelPlanResponse(TravelPlan travelPlan, int sequence) {
+        this(travelPlan.getId(), travelPlan.getDayNumber(), sequence, travelPlan.getMemo(), travelPlan.getVersion(), new PlaceResponse(travelPlan.getPlace()));
+    }
+
+    // 일정 목록 프로젝션(TravelPlanRow)을 받는 생성자 (지연 로딩 없음)
+    public TravelPlanResponse(TravelPlanRow row, int sequence) {
+        this(row.planId(), row.dayNumber(), sequence, row.memo(), row.version(), new PlaceResponse(row));
     }
 }
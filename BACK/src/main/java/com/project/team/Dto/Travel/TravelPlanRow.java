@@ -0,0 +1,22 @@
+package com.project.team.Dto.Travel;
+
+/**
+ * 일정 목록 조회용 프로젝션. 일정 + 장소(상세 정보 포함)를 쿼리 한 번으로 가져온다.
+ * (TravelPlanRepository.findPlanRowsByTravelId)
+ */
+public record TravelPlanRow(
+        Long planId,
+        int dayNumber,
+        String memo,
+        long version,
+        Long placeId,
+        String googlePlaceId,
+        String name,
+        String address,
+        String type,
+        Double latitude,
+        Double longitude,
+        String phoneNumber,
+        Boolean openNow,
+        String openingHoursText
+) {}
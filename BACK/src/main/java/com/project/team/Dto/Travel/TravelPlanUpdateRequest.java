@@ -10,5 +10,8 @@ public record TravelPlanUpdateRequest(
         @NotNull(message = "순서는 필수입니다.") @Positive(message = "순서는 1 이상이어야 합니다.")
         Integer sequence,
 
-        String memo
+        String memo,
+
+        // 조회했을 때의 일정 버전. 보내면 그 사이 다른 사람이 수정한 경우 409 로 실패한다.
+        Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.project.team.Dto.TravelPermission;
+
+import com.project.team.Permission.PermissionRole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 여행 멤버 명단 (소유자 + 공유받은 사용자와 역할). 권한 확인과 공유 목록 조회에 쓴다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 요청이 같은 인스턴스를 공유한다. (TravelRosterService 가 여행별로 캐시)
+ * version 은 명단을 읽을 때의 Travel.membersVersion 이다.
+ */
+public final class TravelRoster {
+
+    private final Long travelId;
+    private final long version;
+    private final TravelPermissionResponse owner;
+    private final List<TravelPermissionResponse> entries; // 소유자가 첫 번째
+    private final Map<Long, TravelPermissionResponse> byUserId;
+
+    public TravelRoster(Long travelId, long version, TravelPermissionResponse owner, List<TravelPermissionResponse> members) {
+        this.travelId = travelId;
+        this.version = version;
+        this.owner = owner;
+        List<TravelPermissionResponse> all = new ArrayList<>(members.size() + 1);
+        all.add(owner);
+        all.addAll(members);
+        this.entries = Collections.unmodifiableList(all);
+
+        Map<Long, TravelPermissionResponse> userIds = new HashMap<>();
+        for (TravelPermissionResponse entry : all) {
+            userIds.putIfAbsent(entry.userId(), entry);
+        }
+        this.byUserId = userIds;
+    }
+
+    public Long travelId() {
+        return travelId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Long ownerId() {
+        return owner.userId();
+    }
+
+    public boolean isOwner(Long userId) {
+        return owner.userId().equals(userId);
+    }
+
+    /**
+     * 사용자의 역할 (소유자는 ROLE_OWNER). 멤버가 아니면 empty
+     */
+    public Optional<String> roleOf(Long userId) {
+        return Optional.ofNullable(byUserId.get(userId)).map(TravelPermissionResponse::role);
+    }
+
+    public boolean hasAccess(Long userId) {
+        return byUserId.containsKey(userId);
+    }
+
+    // 소유자이거나 보기 권한(ROLE_VIEWER)이 아닌 멤버
+    public boolean canEdit(Long userId) {
+        return roleOf(userId).filter(role -> !role.equals(PermissionRole.ROLE_VIEWER.name())).isPresent();
+    }
+
+    /**
+     * 소유자(permissionId 없음)를 첫 번째로 한 전체 명단
+     */
+    public List<TravelPermissionResponse> entries() {
+        return entries;
+    }
+}
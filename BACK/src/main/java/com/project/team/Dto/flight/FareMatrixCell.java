@@ -0,0 +1,17 @@
+package com.project.team.Dto.flight;
+
+/**
+ * 요금 매트릭스의 한 칸 (도착 공항 × 출발일).
+ * cheapest 는 가격을 읽지 못한 항공편(0원)을 제외한 최저가이며, 검색 결과가 없으면 null 이다.
+ * pending 은 한 번의 요청에서 크롤링할 수 있는 칸 수를 넘어 이번에는 검색하지 않은 칸이다. (다시 요청하면 이어서 검색)
+ */
+public record FareMatrixCell(
+        String arrAp,
+        String depDate,
+        String retDate,
+        FlightData cheapest,
+        int flightCount,
+        boolean cached,
+        String error,
+        boolean pending
+) {}
@@ -0,0 +1,16 @@
+package com.project.team.Dto.flight;
+
+import java.util.List;
+
+/**
+ * 요금 매트릭스 검색 조건.
+ * depDate/retDate 를 기준으로 ±flexDays 일씩 옮긴 날짜(여행 기간은 유지) × arrAps 의 모든 조합을 검색한다.
+ */
+public record FareMatrixRequest(
+        String depAp,
+        List<String> arrAps,
+        String depDate,
+        String retDate,
+        Integer flexDays,
+        int adult
+) {}
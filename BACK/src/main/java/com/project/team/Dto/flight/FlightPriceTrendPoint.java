@@ -0,0 +1,18 @@
+package com.project.team.Dto.flight;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 노선의 여행 날짜(출발일/귀국일)별 가격 추이.
+ * latest* 는 가장 최근 크롤링 값, lowestMinPriceKRW 는 기록된 최저가 중 가장 낮은 값이다.
+ */
+public record FlightPriceTrendPoint(
+        LocalDate depDate,
+        LocalDate retDate,
+        int latestMinPriceKRW,
+        int latestMedianPriceKRW,
+        int lowestMinPriceKRW,
+        int samples,
+        LocalDateTime lastCrawledAt
+) {}
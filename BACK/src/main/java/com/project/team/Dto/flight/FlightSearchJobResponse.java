@@ -0,0 +1,28 @@
+package com.project.team.Dto.flight;
+
+import com.project.team.Service.flight.FlightSearchJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record FlightSearchJobResponse(
+        String jobId,
+        String status,
+        FlightSearchRequest request,
+        List<FlightData> flights,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+    public FlightSearchJobResponse(FlightSearchJob job) {
+        this(
+                job.getId(),
+                job.getStatus().name(),
+                job.getRequest(),
+                job.getFlights(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -6,4 +6,17 @@ public record FlightSearchRequest(
         String depDate,
         String retDate,
         int adult
-) {}
\ No newline at end of file
+) {
+    /**
+     * 캐시 키로 쓰기 위해 공항 코드는 대문자로, 날짜는 공백을 제거해 정규화한다.
+     */
+    public FlightSearchRequest normalized() {
+        return new FlightSearchRequest(
+                depAp == null ? null : depAp.trim().toUpperCase(),
+                arrAp == null ? null : arrAp.trim().toUpperCase(),
+                depDate == null ? null : depDate.trim(),
+                retDate == null ? null : retDate.trim(),
+                adult
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.team.Dto.flight;
+
+import java.time.LocalDate;
+
+/**
+ * 검색 기록 집계 결과 (조건별 검색 횟수).
+ */
+public record PopularFlightSearch(
+        String depAp,
+        String arrAp,
+        LocalDate depDate,
+        LocalDate retDate,
+        Integer adult,
+        Long searchCount
+) {}
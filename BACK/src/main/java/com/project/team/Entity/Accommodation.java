@@ -1,28 +0,0 @@
-package com.project.team.Entity;
-
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import jakarta.persistence.*;
-import lombok.*;
-
-@Entity
-@Setter
-@Getter
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Accommodation {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(nullable=false, updatable = false)
-    private Long id;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "place_id")
-    @JsonIgnore
-    private Place place;
-
-    private String phoneNumber;
-
-    public Accommodation(Place place, String phoneNumber) {
-        this.place = place;
-        this.phoneNumber = phoneNumber;
-    }
-}
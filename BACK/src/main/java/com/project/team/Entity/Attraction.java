@@ -1,26 +0,0 @@
-package com.project.team.Entity;
-
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import jakarta.persistence.*;
-import lombok.*;
-
-@Entity
-@Setter
-@Getter
-@NoArgsConstructor
-public class Attraction {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "place_id")
-    @JsonIgnore
-    private Place place;
-
-    @Column(length = 512) // 넉넉한 길이 설정
-    private String openingHoursText;
-
-    private Boolean openNow;
-
-}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.project.team.Entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.team.Config.JpaBatchConfig;
+import com.project.team.Util.GeoHash;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -9,17 +10,17 @@ import lombok.Setter;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = @Index(name = "idx_place_geohash", columnList = "geohash"))
 public class Place {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "place_seq")
+    @SequenceGenerator(name = "place_seq", sequenceName = "place_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -32,6 +33,10 @@ public class Place {
 
     private Double longitude;
 
+    // 좌표의 geohash (주변 장소 검색용 인덱스). 좌표가 바뀌면 저장 시 자동으로 다시 계산한다.
+    @Column(length = 12)
+    private String geohash;
+
     @Column(unique = true)
     private String googlePlaceId;
 
@@ -39,13 +44,31 @@ public class Place {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "place", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Attraction> attractions = new ArrayList<>();
+    // Place Details API 에서 영구 폐업으로 확인된 장소 (일정에 새로 추가할 수 없음)
+    private Boolean permanentlyClosed;
+
+    // --- Place Details API 로 채우는 상세 정보 (유형별로 쓰는 항목만 채움) ---
+    // 숙소, 음식점
+    private String phoneNumber;
+
+    // 관광지, 음식점
+    private Boolean openNow;
+
+    // 관광지, 음식점
+    @Column(length = 512)
+    private String openingHoursText;
+
+    // 모든 유형 (주변 장소 검색의 로컬 응답에 그대로 내려줌). 리뷰가 없는 장소는 rating 없이 userRatingsTotal = 0
+    private Double rating;
 
-    @OneToMany(mappedBy = "place", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Accommodation> accommodations = new ArrayList<>();
+    private Integer userRatingsTotal;
 
-    @OneToMany(mappedBy = "place", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Restaurant> restaurants = new ArrayList<>();
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = (latitude != null && longitude != null)
+                ? GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION)
+                : null;
+    }
 
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.project.team.Entity;
 
+import com.project.team.Config.JpaBatchConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import com.project.team.Entity.flight.Flight;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -10,12 +12,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// 버전 컬럼은 UPDATE 쿼리로만 올린다. 바뀐 컬럼만 쓰도록 해서 여행 정보 수정이 읽어 둔 (오래된) 버전으로 덮어쓰지 않게 한다.
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Travel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "travel_seq")
+    @SequenceGenerator(name = "travel_seq", sequenceName = "travel_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +35,15 @@ public class Travel {
     private Integer travelerCount;
     private String departure;
 
+    // 일정 목록 버전. 일정이 추가/수정/삭제될 때마다 1씩 올라가며 일정 목록 조회의 ETag 로 쓴다.
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long planVersion;
+
+    // 멤버 명단 버전. 공유 권한이 추가/수정/삭제되거나 멤버의 닉네임이 바뀔 때마다 1씩 올라가며,
+    // 각 서버의 멤버 명단 캐시가 이 값으로 오래된 명단을 알아챈다.
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long membersVersion;
+
     @OneToMany(mappedBy = "travel", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<TravelPlan> travelPlans = new ArrayList<>();
@@ -1,6 +1,7 @@
 package com.project.team.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.team.Config.JpaBatchConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,8 @@ import lombok.Setter;
 @NoArgsConstructor // 다른 클래스에서 생성자가 필요해 AccessLevel.PROTECTED 생략
 public class TravelPermission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "travel_permission_seq")
+    @SequenceGenerator(name = "travel_permission_seq", sequenceName = "travel_permission_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,10 +1,12 @@
 package com.project.team.Entity;
 
+import com.project.team.Config.JpaBatchConfig;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
 @Getter
@@ -13,7 +15,8 @@ import lombok.Setter;
 @Table(name = "travel_plans")
 public class TravelPlan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "travel_plans_seq")
+    @SequenceGenerator(name = "travel_plans_seq", sequenceName = "travel_plans_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -24,15 +27,29 @@ public class TravelPlan {
     @ManyToOne(fetch = FetchType.LAZY)
     private Place place;
 
+    // 이전 방식의 순서 값. 지금은 추가/이동 시 요청한 위치만 기록하며 정렬에는 rankKey 를 쓴다.
+    @OptimisticLock(excluded = true)
     private int sequence;
 
+    // 일차 안에서의 정렬 키. 간격(TravelPlanRankService.GAP)을 두고 매겨서 추가/이동 시 이 행 하나만 바뀐다.
+    // 다른 일정 이동이나 재정렬로 바뀌어도 이 일정의 버전은 올리지 않는다.
+    @OptimisticLock(excluded = true)
+    @Column(name = "rank_key")
+    private Long rankKey;
+
+    // 낙관적 잠금 버전. 같은 일정을 동시에 수정하면 나중 요청은 409 로 실패한다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     private String memo;
 
     private int dayNumber;
 
-    public TravelPlan(Travel travel, int sequence, String memo,int dayNumber,Place place) {
+    public TravelPlan(Travel travel, int sequence, long rankKey, String memo, int dayNumber, Place place) {
         this.travel = travel;
         this.sequence = sequence;
+        this.rankKey = rankKey;
         this.memo = memo;
         this.dayNumber = dayNumber;
         this.place = place;
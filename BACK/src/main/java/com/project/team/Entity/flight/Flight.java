@@ -28,6 +28,9 @@ public class Flight {
 
     private String returnArrivalTime;
 
+    // 마지막으로 가격 하락 알림을 보낸 가격 (없으면 저장 당시 priceKRW 기준으로 비교)
+    private Integer lastNotifiedPriceKRW;
+
     @OneToOne(mappedBy = "flight")
     @JoinColumn(name = "travel_id")
     private Travel travel;
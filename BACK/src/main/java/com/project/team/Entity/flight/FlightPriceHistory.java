@@ -0,0 +1,62 @@
+package com.project.team.Entity.flight;
+
+import com.project.team.Config.JpaBatchConfig;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 크롤링 한 번의 요약 (노선 + 여행 날짜별 최저가/중앙값).
+ * 항공편 목록 전체가 아니라 집계값만 저장해 행 하나가 작다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "flight_price_history",
+        indexes = @Index(name = "idx_flight_price_history_route", columnList = "depAp, arrAp, depDate"))
+public class FlightPriceHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_price_history_seq")
+    @SequenceGenerator(name = "flight_price_history_seq", sequenceName = "flight_price_history_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false, length = 3)
+    private String depAp;
+
+    @Column(nullable = false, length = 3)
+    private String arrAp;
+
+    @Column(nullable = false)
+    private LocalDate depDate;
+
+    @Column(nullable = false)
+    private LocalDate retDate;
+
+    private int adult;
+
+    private int minPriceKRW;
+
+    private int medianPriceKRW;
+
+    private int flightCount; // 가격을 읽은 항공편 수
+
+    @Column(nullable = false)
+    private LocalDateTime crawledAt;
+
+    public FlightPriceHistory(String depAp, String arrAp, LocalDate depDate, LocalDate retDate, int adult,
+                              int minPriceKRW, int medianPriceKRW, int flightCount, LocalDateTime crawledAt) {
+        this.depAp = depAp;
+        this.arrAp = arrAp;
+        this.depDate = depDate;
+        this.retDate = retDate;
+        this.adult = adult;
+        this.minPriceKRW = minPriceKRW;
+        this.medianPriceKRW = medianPriceKRW;
+        this.flightCount = flightCount;
+        this.crawledAt = crawledAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.team.Entity.flight;
+
+import com.project.team.Config.JpaBatchConfig;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자가 검색한 조건 기록. 새벽 시간대 미리 크롤링할 인기 노선을 고르는 데 쓴다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "flight_search_log",
+        indexes = @Index(name = "idx_flight_search_log_searched_at", columnList = "searchedAt"))
+public class FlightSearchLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_search_log_seq")
+    @SequenceGenerator(name = "flight_search_log_seq", sequenceName = "flight_search_log_seq", allocationSize = JpaBatchConfig.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false, length = 3)
+    private String depAp;
+
+    @Column(nullable = false, length = 3)
+    private String arrAp;
+
+    @Column(nullable = false)
+    private LocalDate depDate;
+
+    @Column(nullable = false)
+    private LocalDate retDate;
+
+    private int adult;
+
+    @Column(nullable = false)
+    private LocalDateTime searchedAt;
+
+    public FlightSearchLog(String depAp, String arrAp, LocalDate depDate, LocalDate retDate, int adult, LocalDateTime searchedAt) {
+        this.depAp = depAp;
+        this.arrAp = arrAp;
+        this.depDate = depDate;
+        this.retDate = retDate;
+        this.adult = adult;
+        this.searchedAt = searchedAt;
+    }
+}
@@ -1,7 +1,9 @@
 package com.project.team.Exception;
 import com.project.team.Dto.ErrorResponseRecord;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -71,6 +73,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponseRecord, HttpStatus.CONFLICT);
     }
 
+    /**
+     * 다른 사용자가 먼저 수정한 데이터를 수정하려 할 때 (@Version 낙관적 잠금 실패)
+     *
+     * @param ex - ObjectOptimisticLockingFailureException
+     * @return 409 HttpStatus.CONFLICT
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseRecord> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponseRecord errorResponseRecord = new ErrorResponseRecord(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "다른 사용자가 먼저 수정했습니다. 새로고침 후 다시 시도해 주세요.",
+                request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponseRecord, HttpStatus.CONFLICT);
+    }
+
     /**
      * 권한이 없을 때 (403)
      * TravelPermissionService에서 발생한 PermissionDeniedException을 처리합니다.
@@ -105,6 +124,23 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * 요청이 몰려 처리할 수 없을 때 (429)
+     * 항공편 검색 작업 큐가 가득 찼을 때 발생하는 TooManyRequestsException을 처리합니다.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseRecord> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        ErrorResponseRecord errorResponseRecord = new ErrorResponseRecord(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponseRecord);
+    }
 
 
 
@@ -1,8 +0,0 @@
-package com.project.team.Repository;
-
-import com.project.team.Entity.Accommodation;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface AccommodationRepository extends JpaRepository<Accommodation, Long> {
-
-}
\ No newline at end of file
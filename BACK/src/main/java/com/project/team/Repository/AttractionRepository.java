@@ -1,7 +0,0 @@
-package com.project.team.Repository;
-
-import com.project.team.Entity.Attraction;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface AttractionRepository extends JpaRepository<Attraction, Long> {
-}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.project.team.Repository;
+
+import com.project.team.Entity.flight.FlightPriceHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FlightPriceHistoryRepository extends JpaRepository<FlightPriceHistory, Long> {
+
+    // 노선의 출발일 구간 기록을 출발일, 크롤링 시각 순으로 조회
+    List<FlightPriceHistory> findByDepApAndArrApAndAdultAndDepDateBetweenOrderByDepDateAscCrawledAtAsc(
+            String depAp, String arrAp, int adult, LocalDate from, LocalDate to);
+
+    // 이미 지난 여행 날짜의 기록 정리
+    @Modifying
+    @Query("DELETE FROM FlightPriceHistory h WHERE h.depDate < :date")
+    int deleteByDepDateBefore(@Param("date") LocalDate date);
+}
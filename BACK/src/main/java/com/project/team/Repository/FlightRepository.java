@@ -2,9 +2,21 @@ package com.project.team.Repository;
 
 import com.project.team.Entity.flight.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface FlightRepository extends JpaRepository<Flight, Long> {
     Optional<Flight> findByTravelId(Long travelId);
+
+    // 출발 전인 여행에 저장된 항공편 (가격 알림 대상)
+    @Query("SELECT f FROM Flight f JOIN FETCH f.travel t WHERE t.startDate >= :today")
+    List<Flight> findUpcomingWithTravel(@Param("today") LocalDate today);
+
+    @Query("SELECT f FROM Flight f JOIN FETCH f.travel WHERE f.id IN :ids")
+    List<Flight> findWithTravelByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package com.project.team.Repository;
+
+import com.project.team.Dto.flight.PopularFlightSearch;
+import com.project.team.Entity.flight.FlightSearchLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FlightSearchLogRepository extends JpaRepository<FlightSearchLog, Long> {
+
+    /**
+     * 최근(since 이후)에 많이 검색된 조건 순으로, 아직 지나지 않은(depDate >= today) 검색만 조회한다.
+     */
+    @Query("""
+            SELECT new com.project.team.Dto.flight.PopularFlightSearch(
+                l.depAp, l.arrAp, l.depDate, l.retDate, l.adult, COUNT(l))
+            FROM FlightSearchLog l
+            WHERE l.searchedAt >= :since AND l.depDate >= :today
+            GROUP BY l.depAp, l.arrAp, l.depDate, l.retDate, l.adult
+            ORDER BY COUNT(l) DESC
+            """)
+    List<PopularFlightSearch> findPopularSearches(@Param("since") LocalDateTime since,
+                                                   @Param("today") LocalDate today,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM FlightSearchLog l WHERE l.searchedAt < :before")
+    int deleteBySearchedAtBefore(@Param("before") LocalDateTime before);
+}
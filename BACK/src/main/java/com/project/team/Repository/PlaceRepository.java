@@ -1,10 +1,21 @@
 package com.project.team.Repository;
 
 import com.project.team.Entity.Place;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PlaceRepository extends JpaRepository<Place, Long> {
     Optional<Place> findByGooglePlaceId(String googlePlaceId);
+
+    // geohash 격자 안의 장소 (인덱스 범위 검색). 폐업한 장소는 제외
+    @Query("SELECT p FROM Place p WHERE p.geohash LIKE CONCAT(:cell, '%') AND (p.permanentlyClosed IS NULL OR p.permanentlyClosed = false)")
+    List<Place> findOpenInGeohashCell(@Param("cell") String cell, Pageable pageable);
+
+    // geohash 가 아직 없는 장소 (마이그레이션용)
+    List<Place> findTop500ByGeohashIsNullAndLatitudeIsNotNullAndLongitudeIsNotNull();
 }
\ No newline at end of file
@@ -1,7 +0,0 @@
-package com.project.team.Repository;
-
-import com.project.team.Entity.Restaurant;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
-}
\ No newline at end of file
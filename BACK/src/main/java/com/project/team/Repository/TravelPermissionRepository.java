@@ -1,8 +1,12 @@
 package com.project.team.Repository;
 
+import com.project.team.Dto.TravelPermission.TravelPermissionResponse;
 import com.project.team.Entity.TravelPermission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,17 @@ public interface TravelPermissionRepository extends JpaRepository<TravelPermissi
     Optional<TravelPermission> findByTravelIdAndId(Long travelId, Long permissionId);
     List<TravelPermission> findByUserId(Long userId);
 
+    // 여러 여행의 멤버를 사용자와 함께 한 번에 조회
+    @Query("SELECT p FROM TravelPermission p JOIN FETCH p.user WHERE p.travel.id IN :travelIds")
+    List<TravelPermission> findWithUserByTravelIdIn(@Param("travelIds") Collection<Long> travelIds);
+
+    // 여행 멤버 명단 (권한 + 사용자 정보를 쿼리 한 번으로)
+    @Query("""
+            SELECT new com.project.team.Dto.TravelPermission.TravelPermissionResponse(p.id, u.id, u.nickname, u.email, p.role)
+            FROM TravelPermission p JOIN p.user u
+            WHERE p.travel.id = :travelId
+            ORDER BY p.id ASC
+            """)
+    List<TravelPermissionResponse> findRosterMembers(@Param("travelId") Long travelId);
+
 }
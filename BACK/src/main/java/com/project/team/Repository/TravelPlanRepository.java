@@ -1,17 +1,82 @@
 package com.project.team.Repository;
 
+import com.project.team.Dto.Travel.TravelPlanRow;
 import com.project.team.Entity.TravelPlan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TravelPlanRepository extends JpaRepository<TravelPlan, Long> {
 
     List<TravelPlan> findByTravelId(Long travelId);
 
-    // 일차(dayNumber)와 순서(sequence)에 따라 정렬하여 조회
-    List<TravelPlan> findByTravelIdOrderByDayNumberAscSequenceAsc(Long travelId);
+    // 일차(dayNumber)와 정렬 키(rankKey)에 따라 정렬하여 조회
+    List<TravelPlan> findByTravelIdOrderByDayNumberAscRankKeyAsc(Long travelId);
 
     // 특정 여행의 특정 일차(dayNumber)에 해당하는 일정만 순서대로 가져오기
-    List<TravelPlan> findByTravelIdAndDayNumberOrderBySequenceAsc(Long travelId, int dayNumber);
+    List<TravelPlan> findByTravelIdAndDayNumberOrderByRankKeyAsc(Long travelId, int dayNumber);
+
+    /**
+     * 일정 목록 화면용 조회. 일정과 장소(상세 정보 포함)를 쿼리 한 번으로 가져온다.
+     */
+    @Query(PLAN_ROWS_QUERY)
+    List<TravelPlanRow> findPlanRowsByTravelId(@Param("travelId") Long travelId);
+
+    /**
+     * 내보내기용. 같은 조회를 한 번에 받지 않고 fetch size 만큼씩 커서로 읽는다. (일정 수와 관계없이 메모리 일정)
+     * 트랜잭션 안에서 호출하고, 다 읽은 뒤 반드시 닫아야 한다. (try-with-resources)
+     */
+    @Query(PLAN_ROWS_QUERY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<TravelPlanRow> streamPlanRowsByTravelId(@Param("travelId") Long travelId);
+
+    String PLAN_ROWS_QUERY = """
+            SELECT new com.project.team.Dto.Travel.TravelPlanRow(
+                p.id, p.dayNumber, p.memo, p.version,
+                pl.id, pl.googlePlaceId, pl.name, pl.address, pl.type, pl.latitude, pl.longitude,
+                pl.phoneNumber, pl.openNow, pl.openingHoursText)
+            FROM TravelPlan p
+            JOIN p.place pl
+            WHERE p.travel.id = :travelId
+            ORDER BY p.dayNumber ASC, p.rankKey ASC
+            """;
+
+    // 특정 일차의 일정을 장소와 함께 순서대로 조회 (경로 최적화용)
+    @Query("SELECT p FROM TravelPlan p JOIN FETCH p.place WHERE p.travel.id = :travelId AND p.dayNumber = :dayNumber ORDER BY p.rankKey ASC")
+    List<TravelPlan> findDayWithPlace(@Param("travelId") Long travelId, @Param("dayNumber") int dayNumber);
+
+    /**
+     * 일차의 정렬 키만 순서대로 조회 (엔티티를 불러오지 않음). excludePlanId 는 이동 중인 일정 자신을 빼기 위해 쓴다.
+     */
+    @Query("""
+            SELECT p.rankKey FROM TravelPlan p
+            WHERE p.travel.id = :travelId AND p.dayNumber = :dayNumber
+              AND (:excludePlanId IS NULL OR p.id <> :excludePlanId)
+            ORDER BY p.rankKey ASC
+            """)
+    List<Long> findRankKeysOfDay(@Param("travelId") Long travelId,
+                                 @Param("dayNumber") int dayNumber,
+                                 @Param("excludePlanId") Long excludePlanId);
+
+    // 일차 안에서 rankKey 보다 앞에 있는 일정 수 (현재 순서 계산용)
+    @Query("SELECT COUNT(p) FROM TravelPlan p WHERE p.travel.id = :travelId AND p.dayNumber = :dayNumber AND p.rankKey < :rankKey")
+    long countBeforeRank(@Param("travelId") Long travelId,
+                         @Param("dayNumber") int dayNumber,
+                         @Param("rankKey") long rankKey);
+
+    /**
+     * rankKey 가 없는 기존 일정에 sequence 기준으로 간격을 둔 키를 채운다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TravelPlan p SET p.rankKey = p.sequence * :gap WHERE p.rankKey IS NULL")
+    int initializeMissingRankKeys(@Param("gap") long gap);
 }
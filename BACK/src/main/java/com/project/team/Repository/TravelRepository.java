@@ -1,17 +1,72 @@
 package com.project.team.Repository;
 
 import com.project.team.Entity.Travel;
+import com.project.team.Entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface TravelRepository extends JpaRepository<Travel, Long> {
     List<Travel> findByUser_Email(String email);
 
+    // 일정 순서(정렬 키)를 바꾸는 동안 같은 여행의 다른 변경과 겹치지 않도록 여행 행을 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Travel t WHERE t.id = :travelId")
+    Optional<Travel> findByIdForUpdate(@Param("travelId") Long travelId);
+
+    // 여행 소유자 (멤버 명단용)
+    @Query("SELECT t.user FROM Travel t WHERE t.id = :travelId")
+    Optional<User> findOwnerById(@Param("travelId") Long travelId);
+
+    // 멤버 명단 버전만 조회 (명단 캐시 확인용)
+    @Query("SELECT t.membersVersion FROM Travel t WHERE t.id = :travelId")
+    Optional<Long> findMembersVersionById(@Param("travelId") Long travelId);
+
+    // 공유 권한이 바뀔 때마다 호출
+    @Modifying
+    @Query("UPDATE Travel t SET t.membersVersion = t.membersVersion + 1 WHERE t.id = :travelId")
+    int incrementMembersVersion(@Param("travelId") Long travelId);
+
+    // 사용자 정보(닉네임)가 바뀌면 그 사용자가 소유자이거나 멤버인 모든 여행의 명단 버전을 올린다.
+    @Modifying
+    @Query("UPDATE Travel t SET t.membersVersion = t.membersVersion + 1 WHERE t.user.id = :userId OR t.id IN (SELECT p.travel.id FROM TravelPermission p WHERE p.user.id = :userId)")
+    int incrementMembersVersionByUserId(@Param("userId") Long userId);
+
+    // 일정 목록 버전(ETag)만 조회
+    @Query("SELECT t.planVersion FROM Travel t WHERE t.id = :travelId")
+    Optional<Long> findPlanVersionById(@Param("travelId") Long travelId);
+
+    // 일정이 바뀔 때마다 호출. 영속성 컨텍스트의 Travel 은 갱신되지 않으므로 버전은 findPlanVersionById 로 읽는다.
+    @Modifying
+    @Query("UPDATE Travel t SET t.planVersion = t.planVersion + 1 WHERE t.id = :travelId")
+    int incrementPlanVersion(@Param("travelId") Long travelId);
+
+    // 장소 정보가 바뀌면 그 장소를 일정에 담은 모든 여행의 버전을 올린다.
+    @Modifying
+    @Query("UPDATE Travel t SET t.planVersion = t.planVersion + 1 WHERE t.id IN (SELECT p.travel.id FROM TravelPlan p WHERE p.place.id = :placeId)")
+    int incrementPlanVersionByPlaceId(@Param("placeId") Long placeId);
+
+    // 장소를 일정에 담은 여행들의 id 와 일정 목록 버전 (장소 갱신 알림용)
+    @Query("SELECT t.id AS id, t.planVersion AS planVersion FROM Travel t WHERE t.id IN (SELECT p.travel.id FROM TravelPlan p WHERE p.place.id = :placeId)")
+    List<PlanVersion> findPlanVersionsByPlaceId(@Param("placeId") Long placeId);
+
+    interface PlanVersion {
+        Long getId();
+
+        long getPlanVersion();
+    }
+
+    // 출발일이 기간 안에 있는 여행 (항공권 미리 검색 대상)
+    List<Travel> findByStartDateBetween(LocalDate from, LocalDate to);
+
     @Query(value = """
             SELECT c.country_code 
             FROM travel as t 
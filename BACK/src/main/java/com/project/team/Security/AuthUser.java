@@ -0,0 +1,16 @@
+package com.project.team.Security;
+
+import java.security.Principal;
+
+/**
+ * JWT 클레임(subject = 이메일, id = 사용자 ID)만으로 만든 인증 사용자.
+ * AuthenticationFilter 가 요청마다 users 테이블을 조회하지 않고 SecurityContext 에 넣는다.
+ * Principal 을 구현하므로 기존 principal.getName() 은 그대로 이메일을 돌려준다.
+ */
+public record AuthUser(Long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
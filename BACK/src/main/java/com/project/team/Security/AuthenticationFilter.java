@@ -1,35 +1,31 @@
 package com.project.team.Security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.project.team.Service.UserDetailsServiceImpl;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Component
 public class AuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsServiceImpl userDetailsService;
     // Map을 JSON(문자열) 만들어줌, 필터에서 직접 JSON 응답을 쓸 때 사용
     private final ObjectMapper om = new ObjectMapper();
 
-    public AuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+    public AuthenticationFilter(JwtService jwtService) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
     }
 
     @Override
@@ -47,21 +43,19 @@ public class AuthenticationFilter extends OncePerRequestFilter {
 
         try {
             // 유효성 검증 ( 만료면 ExpiredJwtException 발생)
-            var claims = Jwts.parser()
-                    .verifyWith(jwtService.getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            var claims = jwtService.parseClaims(token);
 
             String username = claims.getSubject();
+            Long userId = claims.get("id", Long.class);
+            if (username == null || userId == null) {
+                throw new JwtException("subject 또는 id 클레임이 없습니다.");
+            }
 
-            // 사용자가 존재하고, Spring Security Context에 인증 정보가 없다면
-            if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Spring Security Context에 인증 정보가 없다면 토큰 클레임만으로 인증 정보를 만든다. (users 조회 없음)
+            if(SecurityContextHolder.getContext().getAuthentication() == null) {
 
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(new AuthUser(userId, username), null, List.of());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,20 @@
+package com.project.team.Security;
+
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 매개변수에 현재 인증 사용자(AuthUser)를 주입한다.
+ * 예) public ResponseEntity<?> get(@CurrentUser AuthUser user) → user.id() 로 서비스 호출
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@AuthenticationPrincipal
+public @interface CurrentUser {
+}
@@ -0,0 +1,152 @@
+package com.project.team.Security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * JWT 서명 키 묶음. 여러 서버가 같은 키 디렉터리를 읽으면 어느 서버에서 발급한 토큰이든 검증된다.
+ *
+ * - jwt.keys.dir 의 {kid}.key 파일 하나가 키 하나 (내용은 Base64 로 인코딩한 32바이트 이상의 비밀값)
+ * - 발급 kid 는 디렉터리의 active 파일 내용 → jwt.keys.active → 이름순으로 마지막 kid (예: 2026-10.key) 순서로 정한다.
+ * - 검증은 토큰 헤더의 kid 로 키를 찾는다. 교체 순서:
+ *   1) active 파일은 이전 kid 로 둔 채 새 키 파일 추가 → 모든 서버가 다시 읽을 때까지 대기
+ *   2) active 파일을 새 kid 로 변경
+ *   3) 토큰 만료 시간(3시간)이 지난 뒤 이전 키 파일 삭제
+ * - 디렉터리는 jwt.keys.reload-ms 마다 다시 읽는다. 읽기에 실패하면 기존 키를 그대로 쓴다.
+ * - 키 파일이 없으면 서버를 띄울 때 임시 키를 만든다. (서버 한 대 개발용, 재시작하면 모든 토큰이 무효)
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final String KEY_FILE_SUFFIX = ".key";
+    private static final String ACTIVE_FILE = "active";
+
+    private final String keyDir;
+    private final String activeKid;
+    private final SigningKey ephemeral = new SigningKey("ephemeral-" + UUID.randomUUID(), Jwts.SIG.HS256.key().build());
+
+    private volatile Ring ring;
+
+    public JwtKeyRing(@Value("${jwt.keys.dir:}") String keyDir,
+                      @Value("${jwt.keys.active:}") String activeKid) {
+        this.keyDir = keyDir;
+        this.activeKid = activeKid;
+    }
+
+    public record SigningKey(String kid, SecretKey key) {
+    }
+
+    // 한 번 읽은 키 묶음 (교체는 통째로)
+    private record Ring(Map<String, SecretKey> keys, SigningKey signing) {
+    }
+
+    @PostConstruct
+    void init() {
+        ring = load();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-ms:60000}", initialDelayString = "${jwt.keys.reload-ms:60000}")
+    public void reload() {
+        try {
+            Ring loaded = load();
+            if (loaded.signing() == ephemeral && ring.signing() != ephemeral) {
+                // 키 파일이 잠깐 안 보일 때 (배포 중 등) 임시 키로 바꾸면 모든 토큰이 무효가 되므로 기존 키를 유지
+                log.warn("JWT 키 파일을 찾지 못해 기존 키를 계속 사용합니다: {}", keyDir);
+                return;
+            }
+            if (!loaded.signing().kid().equals(ring.signing().kid()) || !loaded.keys().keySet().equals(ring.keys().keySet())) {
+                log.info("JWT 서명 키 변경: 발급 kid={}, 검증 kid={}", loaded.signing().kid(), loaded.keys().keySet());
+            }
+            ring = loaded;
+        } catch (RuntimeException e) {
+            log.warn("JWT 서명 키를 다시 읽지 못해 기존 키를 계속 사용합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 새 토큰을 서명할 키와 kid
+     */
+    public SigningKey signingKey() {
+        return ring.signing();
+    }
+
+    /**
+     * 토큰 헤더의 kid 로 검증 키를 찾는다. kid 가 없으면 (kid 헤더 이전에 발급된 토큰) 발급용 키로 검증한다.
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        Ring current = ring;
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return current.signing().key();
+        }
+        SecretKey key = current.keys().get(kid);
+        if (key == null) {
+            throw new JwtException("알 수 없는 서명 키입니다. kid=" + kid);
+        }
+        return key;
+    }
+
+    private Ring load() {
+        if (keyDir == null || keyDir.isBlank()) {
+            return ephemeralRing("jwt.keys.dir 미설정");
+        }
+        TreeMap<String, SecretKey> keys = new TreeMap<>();
+        String kid = activeKid;
+        try (Stream<Path> files = Files.list(Path.of(keyDir))) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(KEY_FILE_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                String fileKid = name.substring(0, name.length() - KEY_FILE_SUFFIX.length());
+                String secret = Files.readString(file, StandardCharsets.UTF_8).trim();
+                // 32바이트 미만이면 WeakKeyException
+                keys.put(fileKid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)));
+            }
+            Path activeFile = Path.of(keyDir, ACTIVE_FILE);
+            if (Files.isRegularFile(activeFile)) {
+                kid = Files.readString(activeFile, StandardCharsets.UTF_8).trim();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 키 디렉터리를 읽을 수 없습니다: " + keyDir, e);
+        }
+        if (keys.isEmpty()) {
+            return ephemeralRing(keyDir + " 에 키 파일 없음");
+        }
+
+        if (kid == null || kid.isBlank()) {
+            kid = keys.lastKey();
+        }
+        SecretKey signing = keys.get(kid);
+        if (signing == null) {
+            throw new IllegalStateException("발급 kid 에 해당하는 키 파일이 없습니다: " + kid);
+        }
+        return new Ring(Map.copyOf(keys), new SigningKey(kid, signing));
+    }
+
+    private Ring ephemeralRing(String reason) {
+        if (ring == null) {
+            log.warn("JWT 서명에 임시 키를 사용합니다 ({}). 다른 서버나 재시작 후에는 토큰이 검증되지 않습니다.", reason);
+        }
+        return new Ring(Map.of(ephemeral.kid(), ephemeral.key()), ephemeral);
+    }
+}
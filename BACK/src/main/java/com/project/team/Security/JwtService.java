@@ -6,7 +6,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 
 @Component
@@ -16,33 +15,40 @@ public class JwtService {
     static final long EXPIRATION = 60000 * 60 * 3;
     static final String PREFIX = "Bearer";
 
-    // 비밀키 생성
-    static final SecretKey key = Jwts.SIG.HS256.key().build();
+    // 서명 키 묶음 (서버 간 공유, kid 헤더로 검증 키를 찾음)
+    private final JwtKeyRing keyRing;
 
-    public SecretKey getKey() {
-        return key;
-    }    // 다른 곳에서 비밀키를 쓸 수 있게 getter 설정
+    public JwtService(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
 
     // JWT 토큰 생성
     public String getToken(String email, Long userId) {
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .subject(email)
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
                 .claim("id", userId)
-                .signWith(key)
+                .signWith(signingKey.key())
                 .compact();
     }
 
+    // 토큰 서명/만료 검증 후 Claims 반환 (만료면 ExpiredJwtException)
+    public Claims parseClaims(String token) {
+        return Jwts.parser()
+                .keyLocator(keyRing)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
     // 요청(Request)의 Authorization 헤더에서 토큰 확인 후 username(email)을 가져옴
     public String getAuthUser(HttpServletRequest request) {
         String token = request.getHeader(HttpHeaders.AUTHORIZATION);
 
         if (token != null) {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build().parseSignedClaims(token.replace(PREFIX, "").trim())
-                    .getPayload()
-                    .getSubject();
+            return getClaims(token).getSubject();
         }
         return null;
     }
@@ -58,11 +64,7 @@ public class JwtService {
 
     // 토큰에서 Claims(정보)를 추출하는 private 헬퍼 메서드
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token.replace(PREFIX, "").trim())
-                .getPayload();
+        return parseClaims(token.replace(PREFIX, "").trim());
     }
 
 }
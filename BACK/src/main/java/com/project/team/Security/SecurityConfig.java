@@ -1,6 +1,7 @@
 package com.project.team.Security;
 
 import com.project.team.Service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -59,6 +60,8 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())    // CORS 설정(이하의 설정 사용) 어떤 로컬호스트를 기준으로 할것인가 설정
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))   // 세션 대신 JWT를 사용하므로 세션 비활성화
                 .authorizeHttpRequests(auth -> auth
+                        // 스트리밍 응답의 비동기 디스패치는 최초 요청에서 이미 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/",
                                 "/index.html",
@@ -91,6 +94,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH"));
         // 허용할 헤더
         configuration.setAllowedHeaders(List.of("*"));    // 모든 헤더 허용
+        configuration.setExposedHeaders(List.of("ETag", "Content-Disposition"));   // 일정 목록 조건부 조회(If-None-Match), 내보내기 파일 이름
         // 쿠키나 인증 정보 허용
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
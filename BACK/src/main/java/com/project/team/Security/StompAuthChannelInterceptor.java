@@ -0,0 +1,98 @@
+package com.project.team.Security;
+
+import com.project.team.Exception.AccessDeniedException;
+import com.project.team.Service.TravelRosterService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 인바운드 메시지 인증/인가.
+ * /ws-stomp 핸드셰이크는 permitAll 이므로 여기서 막는다.
+ * - CONNECT: Authorization 헤더(Bearer 토큰)를 검증하고 세션 사용자로 등록한다. 토큰이 없거나 유효하지 않으면 연결 거부
+ * - SUBSCRIBE: 여행 단위 토픽(/chat/travels/{id}, /chat/message/{id})은 그 여행의 소유자/멤버만 구독할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String PREFIX = "Bearer ";
+
+    // 여행 접근 권한이 필요한 구독 목적지
+    private static final Pattern TRAVEL_TOPIC = Pattern.compile("^/chat/(?:travels|message)/(\\d+)$");
+
+    private final JwtService jwtService;
+    private final TravelRosterService travelRosterService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION)));
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            checkSubscription(accessor.getUser(), accessor.getDestination());
+        }
+        return message;
+    }
+
+    private Principal authenticate(String header) {
+        if (header == null || !header.startsWith(PREFIX)) {
+            throw new AccessDeniedException("인증 토큰이 없습니다.");
+        }
+        try {
+            var claims = jwtService.parseClaims(header.substring(PREFIX.length()).trim());
+            String username = claims.getSubject();
+            Long userId = claims.get("id", Long.class);
+            if (username == null || userId == null) {
+                throw new JwtException("subject 또는 id 클레임이 없습니다.");
+            }
+            return new UsernamePasswordAuthenticationToken(new AuthUser(userId, username), null, List.of());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new AccessDeniedException("토큰이 유효하지 않습니다.");
+        }
+    }
+
+    private void checkSubscription(Principal user, String destination) {
+        if (destination == null) return;
+        Matcher matcher = TRAVEL_TOPIC.matcher(destination);
+        if (!matcher.matches()) return;
+
+        Long userId = userIdOf(user);
+        boolean allowed;
+        try {
+            allowed = userId != null && travelRosterService.get(Long.valueOf(matcher.group(1))).hasAccess(userId);
+        } catch (RuntimeException e) {
+            // 없는 여행, 범위를 넘는 id 등
+            allowed = false;
+        }
+        if (!allowed) {
+            log.debug("STOMP 구독 거부: user={}, destination={}", userId, destination);
+            throw new AccessDeniedException("이 여행을 구독할 권한이 없습니다.");
+        }
+    }
+
+    private static Long userIdOf(Principal user) {
+        if (user instanceof UsernamePasswordAuthenticationToken token && token.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.id();
+        }
+        return null;
+    }
+}
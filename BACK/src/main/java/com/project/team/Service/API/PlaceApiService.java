@@ -2,24 +2,66 @@ package com.project.team.Service.API;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.project.team.Dto.API.PlaceApiRequest;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
+import com.project.team.Util.CoalescingCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Google Places API 호출.
+ * 장소 검색(nearbysearch)과 상세 정보(details)는 메모리 캐시를 거친다. (CoalescingCache: 크기 제한 + TTL, 동시 miss 는 한 번만 호출)
+ * 정상 응답(OK, ZERO_RESULTS)만 캐시하고 쿼터 초과 등 오류 응답은 저장하지 않는다.
+ */
 @Service
-@RequiredArgsConstructor
 public class PlaceApiService {
+    private static final Set<String> CACHEABLE_STATUSES = Set.of("OK", "ZERO_RESULTS");
+
     private final WebClient placeApiWebClient;
 
     @Value("${api.key.place}")
     private String placeApiKey;
 
+    private final CoalescingCache<String, JsonNode> detailsCache;
+    private final CoalescingCache<PlaceApiRequest, JsonNode> searchCache;
+
+    public PlaceApiService(
+            WebClient placeApiWebClient,
+            @Value("${place.cache.details-ttl-minutes:720}") long detailsTtlMinutes,
+            @Value("${place.cache.details-max-entries:5000}") int detailsMaxEntries,
+            @Value("${place.cache.search-ttl-minutes:30}") long searchTtlMinutes,
+            @Value("${place.cache.search-max-entries:1000}") int searchMaxEntries) {
+        this.placeApiWebClient = placeApiWebClient;
+        this.detailsCache = new CoalescingCache<>(detailsMaxEntries, Duration.ofMinutes(detailsTtlMinutes));
+        this.searchCache = new CoalescingCache<>(searchMaxEntries, Duration.ofMinutes(searchTtlMinutes));
+    }
+
+    /**
+     * 캐시 통계 (savedLoads = 절약한 API 호출 수)
+     */
+    public Map<String, CoalescingCache.Stats> cacheStats() {
+        Map<String, CoalescingCache.Stats> stats = new LinkedHashMap<>();
+        stats.put("details", detailsCache.stats());
+        stats.put("search", searchCache.stats());
+        return stats;
+    }
+
     // 매개변수는 request ? dto?
     public Mono<JsonNode> fetchPlaceApiData(PlaceApiRequest placeApiRequest) {
+        return cached(searchCache, normalize(placeApiRequest), this::requestPlaceApiData);
+    }
+
+    private Mono<JsonNode> requestPlaceApiData(PlaceApiRequest placeApiRequest) {
         return placeApiWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/maps/api/place/nearbysearch/json")
@@ -37,8 +79,12 @@ public class PlaceApiService {
      * Google Place ID를 사용하여 장소의 상세 정보(전화번호, 영업시간 등)를 요청합니다.
      */
     public Mono<JsonNode> fetchPlaceDetails(String googlePlaceId) {
+        return cached(detailsCache, googlePlaceId, this::requestPlaceDetails);
+    }
+
+    private Mono<JsonNode> requestPlaceDetails(String googlePlaceId) {
         // 요청할 json 필드를 명시
-        String fields = "formatted_phone_number,opening_hours(open_now,weekday_text),permanently_closed";
+        String fields = "formatted_phone_number,opening_hours(open_now,weekday_text),permanently_closed,rating,user_ratings_total";
 
         return placeApiWebClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -65,4 +111,38 @@ public class PlaceApiService {
                 .retrieve()
                 .bodyToMono(JsonNode.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * 캐시를 거쳐 호출한다. 구독할 때 조회하며, 한 구독자가 취소해도 같은 키를 기다리는 다른 요청의 호출은 계속된다.
+     */
+    private static <K> Mono<JsonNode> cached(CoalescingCache<K, JsonNode> cache, K key, Function<K, Mono<JsonNode>> request) {
+        return Mono.fromFuture(
+                () -> cache.getAsync(key, k -> request.apply(k).toFuture(), PlaceApiService::isCacheable),
+                true);
+    }
+
+    private static boolean isCacheable(JsonNode response) {
+        return response != null && CACHEABLE_STATUSES.contains(response.path("status").asText());
+    }
+
+    /**
+     * 검색 조건 정규화: 키워드는 앞뒤 공백 제거 + 소문자, 좌표는 소수 넷째 자리(약 11m)까지만 사용
+     */
+    private static PlaceApiRequest normalize(PlaceApiRequest request) {
+        return new PlaceApiRequest(
+                request.keyword() == null ? null : request.keyword().trim().toLowerCase(Locale.ROOT),
+                roundCoordinate(request.lat()),
+                roundCoordinate(request.lon()),
+                request.radius() == null ? null : request.radius().trim(),
+                request.type() == null ? null : request.type().trim());
+    }
+
+    private static String roundCoordinate(String value) {
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value.trim()).setScale(4, RoundingMode.HALF_UP).toPlainString();
+        } catch (NumberFormatException e) {
+            return value.trim();
+        }
+    }
+}
@@ -53,8 +53,4 @@ public class ChatService {
 
         return ResponseEntity.ok(chatting);
     }
-
-    public void isUpdate(Long travelId, String isUpdated) {
-        messagingTemplate.convertAndSend("/chat/travels/" + travelId, isUpdated);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.project.team.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.team.Dto.API.PlaceApiRequest;
+import com.project.team.Entity.Place;
+import com.project.team.Repository.PlaceRepository;
+import com.project.team.Service.API.PlaceApiService;
+import com.project.team.Util.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주변 장소 검색. 사용자들이 일정에 추가해 DB 에 쌓인 장소(geohash 인덱스)에서 먼저 찾고,
+ * 결과가 부족할 때만 Google nearbysearch 를 호출한다.
+ * 로컬 결과도 Google 응답과 같은 형태(status, results[].place_id/name/vicinity/geometry/types/rating/user_ratings_total)로
+ * 가까운 순 MAX_RESULTS 건까지 돌려준다. 평점을 아직 채우지 못한 장소(상세 정보 갱신 전)는 로컬 후보에서 뺀다.
+ */
+@Slf4j
+@Service
+public class PlaceSearchService {
+
+    // 한 격자에서 읽을 최대 후보 수
+    private static final int MAX_CANDIDATES_PER_CELL = 2000;
+
+    // 응답 최대 건수 (Google nearbysearch 한 페이지와 같음)
+    private static final int MAX_RESULTS = 20;
+
+    // 우리 장소 유형 ↔ Google 장소 type
+    private static final Map<String, List<String>> GOOGLE_TYPES = Map.of(
+            "숙소", List.of("lodging"),
+            "관광지", List.of("tourist_attraction"),
+            "음식점", List.of("restaurant", "food"));
+
+    private static final Map<String, String> TYPE_BY_GOOGLE_TYPE = Map.of(
+            "lodging", "숙소",
+            "tourist_attraction", "관광지",
+            "restaurant", "음식점",
+            "food", "음식점",
+            "cafe", "음식점");
+
+    // 유형 조건이 없는 것으로 보는 Google type
+    private static final Set<String> ANY_TYPES = Set.of("point_of_interest", "establishment");
+
+    private final PlaceRepository placeRepository;
+    private final PlaceApiService placeApiService;
+    private final ObjectMapper objectMapper;
+    private final int minLocalResults;
+
+    public PlaceSearchService(PlaceRepository placeRepository,
+                              PlaceApiService placeApiService,
+                              ObjectMapper objectMapper,
+                              @Value("${place.local-search.min-results:20}") int minLocalResults) {
+        this.placeRepository = placeRepository;
+        this.placeApiService = placeApiService;
+        this.objectMapper = objectMapper;
+        this.minLocalResults = Math.min(minLocalResults, MAX_RESULTS);
+    }
+
+    public Mono<JsonNode> searchNearby(PlaceApiRequest request) {
+        List<Place> local = searchLocal(request);
+        if (local != null && local.size() >= minLocalResults) {
+            log.debug("장소 검색 로컬 응답: keyword={}, {}건", request.keyword(), local.size());
+            return Mono.just(toGoogleResponse(local));
+        }
+        return placeApiService.fetchPlaceApiData(request);
+    }
+
+    /**
+     * DB 에서 반경/키워드/유형 조건에 맞는 장소를 가까운 순으로 찾는다. 로컬에서 처리할 수 없는 조건이면 null
+     */
+    private List<Place> searchLocal(PlaceApiRequest request) {
+        Double lat = parse(request.lat());
+        Double lon = parse(request.lon());
+        Double radius = parse(request.radius());
+        if (lat == null || lon == null || radius == null || radius <= 0) return null;
+
+        // 요청 type 을 우리 유형으로 (모르는 type 이면 Google 로)
+        String requiredType = null;
+        if (request.type() != null && !request.type().isBlank() && !ANY_TYPES.contains(request.type())) {
+            requiredType = TYPE_BY_GOOGLE_TYPE.get(request.type());
+            if (requiredType == null) return null;
+        }
+
+        // 키워드: 유형 이름("도쿄 숙소"의 "숙소")은 유형 조건으로, 나머지 단어는 모두 이름/주소에 포함돼야 함
+        List<String> words = new ArrayList<>();
+        if (request.keyword() != null) {
+            for (String word : request.keyword().trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (word.isEmpty()) continue;
+                if (GOOGLE_TYPES.containsKey(word)) {
+                    if (requiredType != null && !requiredType.equals(word)) return List.of();
+                    requiredType = word;
+                } else {
+                    words.add(word);
+                }
+            }
+        }
+
+        List<Place> matches = new ArrayList<>();
+        for (String cell : GeoHash.coveringCells(lat, lon, radius)) {
+            for (Place place : placeRepository.findOpenInGeohashCell(cell, PageRequest.of(0, MAX_CANDIDATES_PER_CELL))) {
+                if (place.getLatitude() == null || place.getLongitude() == null) continue;
+                if (place.getUserRatingsTotal() == null) continue;
+                if (requiredType != null && !requiredType.equals(place.getType())) continue;
+                if (!containsAll(place, words)) continue;
+                if (GeoHash.distanceMeters(lat, lon, place.getLatitude(), place.getLongitude()) > radius) continue;
+                matches.add(place);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(place -> GeoHash.distanceMeters(lat, lon, place.getLatitude(), place.getLongitude())));
+        return matches.size() > MAX_RESULTS ? matches.subList(0, MAX_RESULTS) : matches;
+    }
+
+    // 모든 단어가 이름이나 주소에 있어야 일치 (단어가 없으면 모두 일치)
+    private static boolean containsAll(Place place, List<String> words) {
+        if (words.isEmpty()) return true;
+        String name = place.getName() == null ? "" : place.getName().toLowerCase(Locale.ROOT);
+        String address = place.getAddress() == null ? "" : place.getAddress().toLowerCase(Locale.ROOT);
+        return words.stream().allMatch(word -> name.contains(word) || address.contains(word));
+    }
+
+    private JsonNode toGoogleResponse(List<Place> places) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("status", "OK");
+        response.put("source", "local");
+        ArrayNode results = response.putArray("results");
+        for (Place place : places) {
+            ObjectNode result = results.addObject();
+            result.put("place_id", place.getGooglePlaceId());
+            result.put("name", place.getName());
+            result.put("vicinity", place.getAddress());
+            ObjectNode location = result.putObject("geometry").putObject("location");
+            location.put("lat", place.getLatitude());
+            location.put("lng", place.getLongitude());
+            ArrayNode types = result.putArray("types");
+            GOOGLE_TYPES.getOrDefault(place.getType(), List.of()).forEach(types::add);
+            if (place.getRating() != null) {
+                result.put("rating", place.getRating());
+            }
+            result.put("user_ratings_total", place.getUserRatingsTotal());
+            if (place.getOpenNow() != null) {
+                result.putObject("opening_hours").put("open_now", place.getOpenNow());
+            }
+        }
+        return response;
+    }
+
+    private static Double parse(String value) {
+        if (value == null) return null;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.project.team.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.project.team.Dto.Travel.AddPlanRequest;
+import com.project.team.Dto.Travel.PlaceResponse;
+import com.project.team.Dto.Travel.TravelPlanEvent;
+import com.project.team.Entity.Place;
+import com.project.team.Exception.BadRequestException;
+import com.project.team.Repository.PlaceRepository;
+import com.project.team.Repository.TravelRepository;
+import com.project.team.Service.API.PlaceApiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * 일정에 추가되는 장소(Place) 관리.
+ * - 장소 행은 요청에 담긴 정보(이름, 주소, 좌표 등)만으로 바로 만든다. (Google 호출을 기다리지 않음)
+ * - 전화번호/영업시간 같은 상세 정보는 일정 저장이 커밋된 뒤 비동기로 가져와 채우고, 이 장소를 담은 여행 구독자에게 알린다.
+ * - 같은 googlePlaceId 를 동시에 추가하면 한 요청만 INSERT 하고 나머지는 그 결과를 기다렸다가 같은 장소를 쓴다.
+ */
+@Slf4j
+@Service
+public class PlaceService {
+
+    // 데이터 갱신 주기 30일
+    private static final long REFRESH_DAYS_LIMIT = 30;
+
+    private static final Duration DETAILS_TIMEOUT = Duration.ofSeconds(10);
+
+    private final PlaceRepository placeRepository;
+    private final TravelRepository travelRepository;
+    private final PlaceApiService placeApiService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // googlePlaceId -> 진행 중인 INSERT (끝나면 place id)
+    private final ConcurrentHashMap<String, CompletableFuture<Long>> creating = new ConcurrentHashMap<>();
+
+    // 상세 정보를 가져오는 중인 place id (같은 장소의 요청은 한 번만 처리)
+    private final Set<Long> enriching = ConcurrentHashMap.newKeySet();
+
+    public PlaceService(PlaceRepository placeRepository,
+                        TravelRepository travelRepository,
+                        PlaceApiService placeApiService,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
+        this.placeRepository = placeRepository;
+        this.travelRepository = travelRepository;
+        this.placeApiService = placeApiService;
+        this.eventPublisher = eventPublisher;
+        // 호출한 쪽 트랜잭션과 관계없이 장소 저장/갱신은 바로 커밋한다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 찾거나 만든 장소. needsEnrichment 가 true 면 일정 저장 후 {@link EnrichmentRequested} 를 발행해야 한다.
+     */
+    public record ResolvedPlace(Long placeId, boolean needsEnrichment) {}
+
+    /**
+     * 일정 저장이 커밋된 뒤 장소 상세 정보를 채우라는 이벤트
+     */
+    public record EnrichmentRequested(Long placeId, Long travelId) {}
+
+    /**
+     * Google Place ID를 기준으로 장소를 찾거나, 없으면 요청 정보로 새로 생성한다.
+     * 새 장소이거나 30일이 지난 장소는 needsEnrichment 로 표시만 하고 API 는 호출하지 않는다.
+     */
+    public ResolvedPlace findOrCreate(AddPlanRequest request) {
+        String googlePlaceId = request.googlePlaceId();
+        Place existing = placeRepository.findByGooglePlaceId(googlePlaceId).orElse(null);
+        if (existing != null) {
+            return resolveExisting(existing);
+        }
+
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> inFlight = creating.putIfAbsent(googlePlaceId, mine);
+        if (inFlight != null) {
+            // 같은 장소를 먼저 저장 중인 요청이 있으면 그 결과를 쓴다. (상세 정보 조회는 합쳐지고 알림만 함께 받음)
+            try {
+                return new ResolvedPlace(inFlight.join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        try {
+            ResolvedPlace resolved = insertOrFind(request);
+            mine.complete(resolved.placeId());
+            return resolved;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            creating.remove(googlePlaceId, mine);
+        }
+    }
+
+    private ResolvedPlace resolveExisting(Place place) {
+        if (Boolean.TRUE.equals(place.getPermanentlyClosed())) {
+            throw new BadRequestException("'" + place.getName() + "'(은)는 영구적으로 폐업한 장소이므로 추가할 수 없습니다.");
+        }
+        boolean stale = isStale(place);
+        if (stale) {
+            log.info("Place 데이터가 최신 버전이 아닙니다. ({}). 일정 저장 후 최신화합니다.", place.getName());
+        }
+        return new ResolvedPlace(place.getId(), stale);
+    }
+
+    // 상세 정보를 채운 적이 없거나 30일이 지났는지
+    private static boolean isStale(Place place) {
+        return place.getUpdatedAt() == null
+                || ChronoUnit.DAYS.between(place.getUpdatedAt(), LocalDateTime.now()) > REFRESH_DAYS_LIMIT;
+    }
+
+    private ResolvedPlace insertOrFind(AddPlanRequest request) {
+        log.info("DB에 없는 장소입니다. 새로 저장하겠습니다 : {}", request.name());
+        try {
+            Long placeId = transactionTemplate.execute(status -> {
+                Place newPlace = new Place();
+                newPlace.setGooglePlaceId(request.googlePlaceId());
+                newPlace.setName(request.name());
+                newPlace.setAddress(request.address());
+                newPlace.setType(request.type());
+                newPlace.setLatitude(request.latitude());
+                newPlace.setLongitude(request.longitude());
+                // updatedAt 은 상세 정보를 채운 뒤에 기록 (실패하면 다음 추가 때 다시 시도)
+                return placeRepository.saveAndFlush(newPlace).getId();
+            });
+            return new ResolvedPlace(placeId, true);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 장소를 먼저 저장함 → 그 장소를 쓴다. (상세 정보는 저장한 쪽에서 채움)
+            Place existing = placeRepository.findByGooglePlaceId(request.googlePlaceId()).orElseThrow(() -> e);
+            return new ResolvedPlace(existing.getId(), false);
+        }
+    }
+
+    /**
+     * 일정 저장이 커밋된 뒤 별도 스레드에서 상세 정보를 가져와 장소를 갱신하고,
+     * 이 장소를 담은 모든 여행 구독자에게 PLACE_UPDATED 를 보낸다. (갱신 트랜잭션이 커밋된 뒤 TravelEventRelay 가 전송)
+     * 같은 장소를 이미 가져오는 중이면 API 는 다시 부르지 않는다. (그 요청의 알림이 이 여행에도 간다)
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnrichmentRequested(EnrichmentRequested event) {
+        if (!enriching.add(event.placeId())) return;
+        try {
+            enrich(event.placeId());
+        } catch (RuntimeException e) {
+            log.warn("장소 상세 정보 갱신 실패: place={}: {}", event.placeId(), e.getMessage());
+        } finally {
+            enriching.remove(event.placeId());
+        }
+    }
+
+    private void enrich(Long placeId) {
+        Place place = placeRepository.findById(placeId).orElse(null);
+        if (place == null || !isStale(place)) return; // 삭제됐거나 그 사이 다른 요청이 이미 갱신함
+
+        // DB 커넥션을 잡지 않은 채로 API 호출
+        JsonNode details = placeApiService.fetchPlaceDetails(place.getGooglePlaceId()).block(DETAILS_TIMEOUT);
+
+        transactionTemplate.executeWithoutResult(status -> placeRepository.findById(placeId).ifPresent(target -> {
+            if (details != null) {
+                saveOrUpdateDetailsByType(target, target.getType(), details);
+            }
+            target.setUpdatedAt(LocalDateTime.now()); // 갱신 시간 마킹
+
+            // 이 장소가 담긴 여행들의 일정 목록 ETag 무효화 후 여행마다 새 장소 정보와 버전 알림
+            travelRepository.incrementPlanVersionByPlaceId(placeId);
+            PlaceResponse placeResponse = new PlaceResponse(target);
+            for (TravelRepository.PlanVersion travel : travelRepository.findPlanVersionsByPlaceId(placeId)) {
+                eventPublisher.publishEvent(TravelPlanEvent.placeUpdated(travel.getId(), travel.getPlanVersion(), placeResponse));
+            }
+        }));
+    }
+
+    /**
+     * API 응답을 파싱하여 장소의 상세 정보 컬럼을 갱신하는 메서드
+     */
+    private void saveOrUpdateDetailsByType(Place place, String type, JsonNode detailsNode) {
+        if (!detailsNode.has("result")) {
+            log.warn("Place Details API에 'result' 필드가 없습니다 : {}", place.getGooglePlaceId());
+            return;
+        }
+        JsonNode result = detailsNode.get("result");
+
+        // 영구 폐업 여부 기록 (이후 이 장소는 일정에 추가할 수 없음)
+        boolean permanentlyClosed = result.has("permanently_closed") && result.get("permanently_closed").asBoolean(false);
+        place.setPermanentlyClosed(permanentlyClosed);
+        if (permanentlyClosed) {
+            log.warn("{} ({})는 폐업했습니다.", place.getName(), place.getGooglePlaceId());
+        }
+
+        place.setRating(result.has("rating") ? result.get("rating").asDouble() : null);
+        place.setUserRatingsTotal(result.has("user_ratings_total") ? result.get("user_ratings_total").asInt() : 0);
+
+        String phoneNumber = result.has("formatted_phone_number") ?
+                result.get("formatted_phone_number").asText(null) : null;
+
+        Boolean openNow = null;
+        String openingHoursText = null;
+
+        if (result.has("opening_hours")) {
+            JsonNode hoursNode = result.get("opening_hours");
+            if (hoursNode.has("open_now")) {
+                openNow = hoursNode.get("open_now").asBoolean();
+            }
+            // "월요일: ...", "화요일: ..." 배열을 하나의 문자열로 합칩니다.
+            if (hoursNode.has("weekday_text") && hoursNode.get("weekday_text").isArray()) {
+                openingHoursText = StreamSupport.stream(hoursNode.get("weekday_text").spliterator(), false)
+                        .map(JsonNode::asText)
+                        .collect(Collectors.joining("\n"));
+            }
+        }
+
+        // --- 숙소, 관광지, 음식점 타입별로 쓰는 항목만 갱신 (장소 행 하나만 UPDATE) ---
+        switch (type == null ? "" : type) {
+            case "숙소":
+                place.setPhoneNumber(phoneNumber);
+                place.setOpenNow(null);
+                place.setOpeningHoursText(null);
+                break;
+            case "관광지":
+                place.setPhoneNumber(null);
+                place.setOpenNow(openNow);
+                place.setOpeningHoursText(openingHoursText);
+                break;
+            case "음식점":
+                place.setPhoneNumber(phoneNumber);
+                place.setOpenNow(openNow);
+                place.setOpeningHoursText(openingHoursText);
+                break;
+
+            default:
+                log.warn("올바른 타입(숙소, 관광지, 음식점)이 아닙니다.: {}", type);
+        }
+    }
+}
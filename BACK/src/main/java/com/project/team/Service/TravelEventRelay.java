@@ -0,0 +1,23 @@
+package com.project.team.Service;
+
+import com.project.team.Dto.Travel.TravelPlanEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 서비스에서 발행한 여행 변경 이벤트를 트랜잭션이 커밋된 뒤 STOMP 로 전달한다. (롤백되면 보내지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class TravelEventRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTravelPlanEvent(TravelPlanEvent event) {
+        messagingTemplate.convertAndSend("/chat/travels/" + event.travelId(), event);
+    }
+}
@@ -0,0 +1,436 @@
+package com.project.team.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.team.Dto.Travel.TravelPlanResponse;
+import com.project.team.Dto.Travel.TravelPlanRow;
+import com.project.team.Entity.Travel;
+import com.project.team.Entity.flight.Flight;
+import com.project.team.Exception.AccessDeniedException;
+import com.project.team.Exception.BadRequestException;
+import com.project.team.Exception.ResourceNotFoundException;
+import com.project.team.Repository.TravelPlanRepository;
+import com.project.team.Repository.TravelRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 여행 일정 내보내기 (JSON, iCalendar, CSV).
+ * 일정 + 장소를 커서로 한 행씩 읽어 바로 응답에 쓰므로, 여행 기간이나 일정 수와 관계없이 메모리 사용량이 일정하다.
+ * (한 여행의 일정 전체를 리스트로 만들지 않음)
+ */
+@Service
+public class TravelExportService {
+
+    // 이만큼 쓸 때마다 클라이언트로 밀어낸다.
+    private static final int FLUSH_EVERY_ROWS = 200;
+
+    private final TravelRepository travelRepository;
+    private final TravelRosterService travelRosterService;
+    private final TravelPlanRepository travelPlanRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TravelExportService(TravelRepository travelRepository,
+                               TravelRosterService travelRosterService,
+                               TravelPlanRepository travelPlanRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.travelRepository = travelRepository;
+        this.travelRosterService = travelRosterService;
+        this.travelPlanRepository = travelPlanRepository;
+        this.objectMapper = objectMapper;
+        // 응답을 쓰는 동안(비동기 스레드) 커서를 열어 둘 읽기 전용 트랜잭션
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public enum Format {
+        JSON("application/json", "json"),
+        ICS("text/calendar", "ics"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType + ";charset=UTF-8";
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("지원하지 않는 내보내기 형식입니다: " + value + " (json, ics, csv)");
+        }
+    }
+
+    /**
+     * 응답을 시작하기 전에 권한과 형식을 확인한다. (스트리밍 중에는 상태 코드를 바꿀 수 없음)
+     *
+     * @return 내려받을 파일 이름
+     */
+    @Transactional(readOnly = true)
+    public String prepare(Long travelId, Format format, Long userId) {
+        if (!travelRosterService.get(travelId).hasAccess(userId)) {
+            throw new AccessDeniedException("이 여행에 접근할 권한이 없습니다.");
+        }
+        Travel travel = travelRepository.findById(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+        if (format == Format.ICS && travel.getStartDate() == null) {
+            throw new BadRequestException("여행 날짜가 정해지지 않아 캘린더로 내보낼 수 없습니다.");
+        }
+        String title = travel.getTitle() == null || travel.getTitle().isBlank() ? "travel-" + travelId : travel.getTitle();
+        return title + "." + format.extension();
+    }
+
+    /**
+     * 여행 정보와 항공편을 먼저 쓰고, 일정은 일차/순서대로 커서에서 읽는 대로 쓴다.
+     * out 은 닫지 않는다. (gzip 등 감싼 쪽에서 마무리)
+     */
+    public void write(Long travelId, Format format, OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Travel travel = travelRepository.findById(travelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<TravelPlanRow> rows = travelPlanRepository.streamPlanRowsByTravelId(travelId)) {
+                ExportWriter export = switch (format) {
+                    case JSON -> new JsonExportWriter(writer, objectMapper);
+                    case ICS -> new IcsExportWriter(writer);
+                    case CSV -> new CsvExportWriter(writer);
+                };
+                export.begin(travel, travel.getFlight());
+
+                // 정렬 키 순서대로 일차별 순서(1부터)를 매기며 쓴다.
+                int[] previousDay = {Integer.MIN_VALUE};
+                int[] sequence = {0};
+                int[] written = {0};
+                rows.forEach(row -> {
+                    sequence[0] = row.dayNumber() == previousDay[0] ? sequence[0] + 1 : 1;
+                    previousDay[0] = row.dayNumber();
+                    LocalDate date = travel.getStartDate() == null ? null : travel.getStartDate().plusDays(row.dayNumber() - 1L);
+                    try {
+                        export.plan(row, sequence[0], date);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                export.end();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private interface ExportWriter {
+        void begin(Travel travel, Flight flight) throws IOException;
+
+        void plan(TravelPlanRow row, int sequence, LocalDate date) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * { "travel": {...}, "flight": {...}, "days": [ { "dayNumber": 1, "date": ..., "plans": [...] }, ... ] }
+     */
+    private static final class JsonExportWriter implements ExportWriter {
+        private final JsonGenerator generator;
+        private Integer currentDay;
+
+        JsonExportWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void begin(Travel travel, Flight flight) throws IOException {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("travel");
+            generator.writeNumberField("id", travel.getId());
+            generator.writeStringField("title", travel.getTitle());
+            generator.writeStringField("countryCode", travel.getCountryCode());
+            generator.writeStringField("startDate", travel.getStartDate() == null ? null : travel.getStartDate().toString());
+            generator.writeStringField("endDate", travel.getEndDate() == null ? null : travel.getEndDate().toString());
+            generator.writeObjectField("travelerCount", travel.getTravelerCount());
+            generator.writeStringField("departure", travel.getDeparture());
+            generator.writeEndObject();
+
+            if (flight == null) {
+                generator.writeNullField("flight");
+            } else {
+                generator.writeObjectFieldStart("flight");
+                generator.writeStringField("airline", flight.getAirline());
+                generator.writeNumberField("priceKRW", flight.getPriceKRW());
+                generator.writeStringField("departureTime", flight.getDepartureTime());
+                generator.writeStringField("arrivalTime", flight.getArrivalTime());
+                generator.writeStringField("returnDepartureTime", flight.getReturnDepartureTime());
+                generator.writeStringField("returnArrivalTime", flight.getReturnArrivalTime());
+                generator.writeEndObject();
+            }
+            generator.writeArrayFieldStart("days");
+        }
+
+        @Override
+        public void plan(TravelPlanRow row, int sequence, LocalDate date) throws IOException {
+            if (currentDay == null || currentDay != row.dayNumber()) {
+                if (currentDay != null) {
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                }
+                currentDay = row.dayNumber();
+                generator.writeStartObject();
+                generator.writeNumberField("dayNumber", row.dayNumber());
+                generator.writeStringField("date", date == null ? null : date.toString());
+                generator.writeArrayFieldStart("plans");
+            }
+            generator.writeObject(new TravelPlanResponse(row, sequence));
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (currentDay != null) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close(); // AUTO_CLOSE_TARGET 을 꺼 두었으므로 writer 는 닫히지 않는다.
+        }
+    }
+
+    /**
+     * iCalendar (RFC 5545). 일정은 해당 날짜의 종일 일정, 항공편은 출국/귀국 시간 일정으로 만든다.
+     */
+    private static final class IcsExportWriter implements ExportWriter {
+        private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+        private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+        private final Writer writer;
+        private final String stamp = LocalDateTime.now(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+
+        IcsExportWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin(Travel travel, Flight flight) throws IOException {
+            line("BEGIN:VCALENDAR");
+            line("VERSION:2.0");
+            line("PRODID:-//Tlan//Travel Export//KO");
+            line("CALSCALE:GREGORIAN");
+            line("X-WR-CALNAME:" + escape(travel.getTitle()));
+            if (flight != null) {
+                flightEvent("flight-" + flight.getId() + "-out", flight.getAirline() + " 출국편",
+                        travel.getStartDate(), flight.getDepartureTime(), flight.getArrivalTime());
+                if (travel.getEndDate() != null) {
+                    flightEvent("flight-" + flight.getId() + "-return", flight.getAirline() + " 귀국편",
+                            travel.getEndDate(), flight.getReturnDepartureTime(), flight.getReturnArrivalTime());
+                }
+            }
+        }
+
+        @Override
+        public void plan(TravelPlanRow row, int sequence, LocalDate date) throws IOException {
+            line("BEGIN:VEVENT");
+            line("UID:plan-" + row.planId() + "@tlan");
+            line("DTSTAMP:" + stamp);
+            line("DTSTART;VALUE=DATE:" + date.format(DATE));
+            line("DTEND;VALUE=DATE:" + date.plusDays(1).format(DATE));
+            line("SUMMARY:" + escape(sequence + ". " + row.name()));
+            if (row.address() != null) {
+                line("LOCATION:" + escape(row.address()));
+            }
+            if (row.latitude() != null && row.longitude() != null) {
+                line("GEO:" + row.latitude() + ";" + row.longitude());
+            }
+            StringBuilder description = new StringBuilder();
+            appendLine(description, row.type());
+            appendLine(description, row.phoneNumber());
+            appendLine(description, row.memo());
+            if (!description.isEmpty()) {
+                line("DESCRIPTION:" + escape(description.toString()));
+            }
+            line("END:VEVENT");
+        }
+
+        @Override
+        public void end() throws IOException {
+            line("END:VCALENDAR");
+        }
+
+        // 시간을 알 수 없으면(형식이 다르면) 종일 일정으로 만든다.
+        private void flightEvent(String uid, String summary, LocalDate date, String departure, String arrival) throws IOException {
+            LocalTime departureTime = parseTime(departure);
+            LocalTime arrivalTime = parseTime(arrival);
+            line("BEGIN:VEVENT");
+            line("UID:" + uid + "@tlan");
+            line("DTSTAMP:" + stamp);
+            if (departureTime != null && arrivalTime != null) {
+                LocalDateTime start = date.atTime(departureTime);
+                // 도착 시간이 출발보다 이르면 다음 날 도착
+                LocalDateTime end = arrivalTime.isBefore(departureTime) ? date.plusDays(1).atTime(arrivalTime) : date.atTime(arrivalTime);
+                line("DTSTART:" + start.format(DATE_TIME));
+                line("DTEND:" + end.format(DATE_TIME));
+            } else {
+                line("DTSTART;VALUE=DATE:" + date.format(DATE));
+                line("DTEND;VALUE=DATE:" + date.plusDays(1).format(DATE));
+            }
+            line("SUMMARY:" + escape(summary));
+            line("END:VEVENT");
+        }
+
+        private static LocalTime parseTime(String value) {
+            if (value == null) return null;
+            try {
+                return LocalTime.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private static void appendLine(StringBuilder builder, String value) {
+            if (value == null || value.isBlank()) return;
+            if (!builder.isEmpty()) builder.append('\n');
+            builder.append(value);
+        }
+
+        private static String escape(String value) {
+            if (value == null) return "";
+            return value.replace("\\", "\\\\")
+                    .replace(";", "\\;")
+                    .replace(",", "\\,")
+                    .replace("\r\n", "\\n")
+                    .replace("\n", "\\n");
+        }
+
+        // 한 줄은 75 바이트를 넘지 않도록 접는다. (이어지는 줄은 공백으로 시작, 멀티바이트 문자는 나누지 않음)
+        private void line(String content) throws IOException {
+            int bytes = 0;
+            for (int i = 0; i < content.length(); ) {
+                int codePoint = content.codePointAt(i);
+                int size = utf8Length(codePoint);
+                if (bytes + size > 75) {
+                    writer.write("\r\n ");
+                    bytes = 1;
+                }
+                writer.write(Character.toChars(codePoint));
+                bytes += size;
+                i += Character.charCount(codePoint);
+            }
+            writer.write("\r\n");
+        }
+
+        private static int utf8Length(int codePoint) {
+            if (codePoint < 0x80) return 1;
+            if (codePoint < 0x800) return 2;
+            if (codePoint < 0x10000) return 3;
+            return 4;
+        }
+    }
+
+    /**
+     * 한 줄에 일정 하나. 항공편은 kind=FLIGHT 줄로 맨 앞에 둔다. (엑셀에서 한글이 깨지지 않도록 BOM 포함)
+     */
+    private static final class CsvExportWriter implements ExportWriter {
+        private static final Pattern NUMBER = Pattern.compile("[-+]?\\d+(\\.\\d+)?");
+
+        private final Writer writer;
+
+        CsvExportWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin(Travel travel, Flight flight) throws IOException {
+            writer.write('\uFEFF');
+            row("kind", "day", "date", "sequence", "name", "type", "address", "latitude", "longitude",
+                    "phone", "openingHours", "memo");
+            if (flight != null) {
+                LocalDate start = travel.getStartDate();
+                LocalDate end = travel.getEndDate();
+                row("FLIGHT", "", start == null ? "" : start.toString(), "", flight.getAirline(), "출국편", "", "", "",
+                        "", "", timeRange(flight.getDepartureTime(), flight.getArrivalTime()));
+                row("FLIGHT", "", end == null ? "" : end.toString(), "", flight.getAirline(), "귀국편", "", "", "",
+                        "", "", timeRange(flight.getReturnDepartureTime(), flight.getReturnArrivalTime()));
+            }
+        }
+
+        @Override
+        public void plan(TravelPlanRow row, int sequence, LocalDate date) throws IOException {
+            row("PLAN",
+                    String.valueOf(row.dayNumber()),
+                    date == null ? "" : date.toString(),
+                    String.valueOf(sequence),
+                    row.name(),
+                    row.type(),
+                    row.address(),
+                    row.latitude() == null ? "" : row.latitude().toString(),
+                    row.longitude() == null ? "" : row.longitude().toString(),
+                    row.phoneNumber(),
+                    row.openingHoursText(),
+                    row.memo());
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void row(String... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String timeRange(String departure, String arrival) {
+            if (departure == null && arrival == null) return "";
+            return (departure == null ? "" : departure) + " - " + (arrival == null ? "" : arrival);
+        }
+
+        private static String escape(String value) {
+            if (value == null || value.isEmpty()) return "";
+            // 스프레드시트에서 수식으로 실행되지 않도록 (음수 좌표 같은 숫자는 그대로)
+            if ("=+-@".indexOf(value.charAt(0)) >= 0 && !NUMBER.matcher(value).matches()) {
+                value = "'" + value;
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+    }
+}
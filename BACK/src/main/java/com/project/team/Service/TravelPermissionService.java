@@ -1,9 +1,11 @@
 package com.project.team.Service;
 
+import com.project.team.Dto.Travel.TravelPlanEvent;
 import com.project.team.Dto.Travel.TravelResponse;
 import com.project.team.Dto.TravelPermission.TravelPermissionCreateRequest;
 import com.project.team.Dto.TravelPermission.TravelPermissionResponse;
 import com.project.team.Dto.TravelPermission.TravelPermissionUpdateRequest;
+import com.project.team.Dto.TravelPermission.TravelRoster;
 import com.project.team.Entity.Travel;
 import com.project.team.Entity.TravelPermission;
 import com.project.team.Entity.User;
@@ -18,16 +20,14 @@ import com.project.team.Repository.TravelRepository;
 import com.project.team.Repository.UserRepository;
 import com.project.team.Util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PathVariable;
 
-import java.security.Principal;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -38,18 +38,20 @@ public class TravelPermissionService {
     private final UserRepository userRepository;
     private final TravelPermissionRepository permissionRepository;
     private final AirportRepository airportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TravelRosterService travelRosterService;
 
     /**
      * [POST] 여행에 사용자 초대 및 권한 부여
      */
     @Transactional
     public TravelPermissionResponse createPermission(Long travelId, TravelPermissionCreateRequest request) {
-        // SecurityUtil에서 String email을 가져옵니다.
-        String currentUserEmail = SecurityUtil.getCurrentUserEmail();
+        // SecurityUtil에서 토큰의 사용자 ID를 가져옵니다.
+        Long currentUserId = SecurityUtil.getCurrentUserId();
 
-        // 1. 소유자(Owner)인지 확인 (이메일로 비교)
-        Travel travel = findTravelById(travelId);
-        checkIsOwner(travel, currentUserEmail);
+        // 1. 소유자(Owner)인지 확인
+        checkIsOwner(travelId, currentUserId);
+        Travel travel = travelRepository.getReferenceById(travelId);
 
         // 2. 유효한 역할인지 확인 (OWNER는 부여 불가)
         String requestedRole = request.role();
@@ -60,8 +62,8 @@ public class TravelPermissionService {
         // 3. 초대할 사용자 찾기
         User userToInvite = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new ResourceNotFoundException("해당 이메일의 사용자를 찾을 수 없습니다: " + request.email()));
-        // 4. 본인을 초대/권한 변경할 수 없음 (이메일로 비교)
-        if (userToInvite.getEmail().equals(currentUserEmail)) {
+        // 4. 본인을 초대/권한 변경할 수 없음
+        if (userToInvite.getId().equals(currentUserId)) {
             throw new BadRequestException("자기 자신에게 권한을 부여할 수 없습니다.");
         }
 
@@ -77,6 +79,9 @@ public class TravelPermissionService {
         newPermission.setRole(requestedRole);
 
         TravelPermission savedPermission = permissionRepository.save(newPermission);
+        // 명단 버전을 올리고, 커밋 후 구독자에게 멤버 변경 알림
+        travelRepository.incrementMembersVersion(travelId);
+        eventPublisher.publishEvent(TravelPlanEvent.membersUpdated(travelId));
 
         return mapPermissionToResponse(savedPermission);
     }
@@ -85,31 +90,18 @@ public class TravelPermissionService {
      * [GET] 해당 여행의 모든 공유 권한 목록 조회
      */
     public List<TravelPermissionResponse> getPermissions(Long travelId) {
-        String currentUserEmail = SecurityUtil.getCurrentUserEmail();
+        Long currentUserId = SecurityUtil.getCurrentUserId();
 
-        // 1. 여행 정보 조회
-        Travel travel = findTravelById(travelId);
+        // 1. 캐시된 멤버 명단 조회 (없으면 404)
+        TravelRoster roster = travelRosterService.get(travelId);
 
         // 2. 접근 권한 확인 (소유자 또는 초대된 사용자인지)
-        checkHasAccess(travel, currentUserEmail);
-
-        // 3. 소유자(Owner) 정보를 DTO 리스트의 첫 번째 항목으로 추가
-        TravelPermissionResponse ownerResponse = new TravelPermissionResponse(
-                null, // 소유자는 Permission 테이블에 ID가 없음
-                travel.getUser().getId(),
-                travel.getUser().getNickname(),
-                travel.getUser().getEmail(),
-                PermissionRole.ROLE_OWNER.name()
-        );
-
-        // 4. TravelPermission 테이블에서 나머지 초대된 사용자 목록 조회
-        List<TravelPermissionResponse> sharedUsersResponses = permissionRepository.findByTravelId(travelId).stream()
-                .map(this::mapPermissionToResponse)
-                .toList();
+        if (!roster.hasAccess(currentUserId)) {
+            throw new PermissionDeniedException("해당 여행에 접근할 권한이 없습니다.");
+        }
 
-        // 5. 소유자 + 초대 사용자 목록 병합
-        return Stream.concat(Stream.of(ownerResponse), sharedUsersResponses.stream())
-                .toList();
+        // 3. 소유자가 첫 번째 항목인 명단을 그대로 반환
+        return roster.entries();
     }
 
     /**
@@ -117,11 +109,10 @@ public class TravelPermissionService {
      */
     @Transactional
     public TravelPermissionResponse updatePermission(Long travelId, Long permissionId, TravelPermissionUpdateRequest request) {
-        String currentUserEmail = SecurityUtil.getCurrentUserEmail();
+        Long currentUserId = SecurityUtil.getCurrentUserId();
 
-        // 1. 소유자(Owner)인지 확인 (이메일로 비교)
-        Travel travel = findTravelById(travelId);
-        checkIsOwner(travel, currentUserEmail);
+        // 1. 소유자(Owner)인지 확인
+        checkIsOwner(travelId, currentUserId);
 
         // 2. 수정할 권한 정보 조회
         TravelPermission permission = permissionRepository.findByTravelIdAndId(travelId, permissionId)
@@ -136,6 +127,8 @@ public class TravelPermissionService {
         // 4. 역할 변경 및 저장
         permission.setRole(newRole);
         TravelPermission updatedPermission = permissionRepository.save(permission);
+        travelRepository.incrementMembersVersion(travelId);
+        eventPublisher.publishEvent(TravelPlanEvent.membersUpdated(travelId));
 
         return mapPermissionToResponse(updatedPermission);
     }
@@ -153,47 +146,23 @@ public class TravelPermissionService {
 
         // 3. 권한 삭제
         permissionRepository.delete(permission);
+        travelRepository.incrementMembersVersion(travelId);
+        eventPublisher.publishEvent(TravelPlanEvent.membersUpdated(travelId));
     }
 
 
     // --- Helper Methods ---
 
     /**
-     * Travel ID로 Travel 엔티티를 조회합니다. (없으면 404)
-     */
-    private Travel findTravelById(Long travelId) {
-        return travelRepository.findById(travelId)
-                .orElseThrow(() -> new ResourceNotFoundException("해당 여행을 찾을 수 없습니다. ID: " + travelId));
-    }
-
-    /**
-     * 현재 사용자가 해당 여행의 소유자(Owner)인지 확인합니다. (아니면 403)
-     * (소유자 = Travel 엔티티를 생성한 User)
+     * 현재 사용자가 해당 여행의 소유자(Owner)인지 확인합니다. (여행이 없으면 404, 소유자가 아니면 403)
+     * (소유자 = Travel 엔티티를 생성한 User, 캐시된 멤버 명단에서 사용자 ID로 비교)
      */
-    private void checkIsOwner(Travel travel, String currentUserEmail) {
-        if (!travel.getUser().getEmail().equals(currentUserEmail)) {
+    private void checkIsOwner(Long travelId, Long currentUserId) {
+        if (!travelRosterService.get(travelId).isOwner(currentUserId)) {
             throw new PermissionDeniedException("권한이 없습니다. (소유자만 가능)");
         }
     }
 
-    /**
-     * 현재 사용자가 해당 여행에 접근할 수 있는지 (소유자 또는 초대된 사용자인지) 확인합니다. (아니면 403)
-     * String email로 비교합니다.
-     */
-    private void checkHasAccess(Travel travel, String currentUserEmail) {
-        // 1. 소유자인지 확인 (이메일 비교)하고 일치하면 접근 가능
-        if (travel.getUser().getEmail().equals(currentUserEmail)) {
-            return;
-        }
-
-        // 2. 초대된 사용자인지 확인 (DB에서 현재 사용자 정보를 조회하여 ID로 확인)
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("현재 인증된 사용자를 DB에서 찾을 수 없습니다."));
-
-        permissionRepository.findByTravelIdAndUserId(travel.getId(), currentUser.getId())
-                .orElseThrow(() -> new PermissionDeniedException("해당 여행에 접근할 권한이 없습니다."));
-    }
-
     /**
      * TravelPermission 엔티티를 Response DTO로 변환합니다.
      */
@@ -210,12 +179,9 @@ public class TravelPermissionService {
     /**
      * [GET] 현재 사용자가 공유받은 모든 여행 목록 조회
      */
-    public List<TravelResponse> getSharedTravels(Principal principal){
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("해당 유저를 찾을 수 없습니다."));
-
+    public List<TravelResponse> getSharedTravels(Long userId){
         // 1. 현재 사용자의 ID로 모든 TravelPermission을 조회
-        List<TravelPermission> permissions = permissionRepository.findByUserId(user.getId());
+        List<TravelPermission> permissions = permissionRepository.findByUserId(userId);
 
         // 2. 각 Permission에서 Travel 엔티티를 추출하여 TravelResponse DTO로 변환
         return permissions.stream()
@@ -231,14 +197,9 @@ public class TravelPermissionService {
                 .collect(Collectors.toList());
     }
 
-    public String getTravelRole(Long travelId, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(()-> new UsernameNotFoundException("해당 유저를 찾을 수 없습니다."));
-        Travel travel = travelRepository.findById(travelId)
-                .orElseThrow(()-> new ResourceNotFoundException("해당 여행을 찾을 수 없습니다."));
-        if(travel.getUser().getId().equals(user.getId())) return PermissionRole.ROLE_OWNER.name();
-        TravelPermission tp = permissionRepository.findByTravelIdAndUserId(travelId, user.getId())
-                .orElseThrow(()-> new ResourceNotFoundException("권한을 확인할 수 없습니다."));
-        return tp.getRole();
+    public String getTravelRole(Long travelId, Long userId) {
+        // 소유자면 ROLE_OWNER, 멤버면 부여된 역할
+        return travelRosterService.get(travelId).roleOf(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("권한을 확인할 수 없습니다."));
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.project.team.Service;
+
+import com.project.team.Dto.Travel.TravelPlanEvent;
+import com.project.team.Dto.Travel.TravelPlanResponse;
+import com.project.team.Dto.Travel.TravelPlanRow;
+import com.project.team.Exception.ResourceNotFoundException;
+import com.project.team.Repository.TravelPlanRepository;
+import com.project.team.Repository.TravelRepository;
+import com.project.team.Util.CoalescingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여행별 일정 목록(응답 DTO) 캐시.
+ * 일정이 바뀌면 구독 중인 참여자들이 거의 동시에 목록을 다시 조회하므로, 같은 여행의 동시 miss 는 DB 조회 한 번으로 합친다.
+ * 일정/장소 변경이 커밋되면 (TravelPlanEvent) 해당 여행을 비우고, 여행 수는 LRU 로 제한한다.
+ *
+ * 캐시된 목록에는 만들 때의 일정 목록 버전을 함께 두고, 조회 시점의 버전보다 오래됐으면 다시 만든다.
+ * (이 서버를 거치지 않은 변경이나 알림보다 먼저 들어온 조회도 오래된 목록을 받지 않음)
+ */
+@Component
+public class TravelPlanCache {
+
+    private final TravelPlanRepository travelPlanRepository;
+    private final TravelRepository travelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CoalescingCache<Long, PlanSnapshot> cache;
+
+    private record PlanSnapshot(long version, List<TravelPlanResponse> plans) {}
+
+    public TravelPlanCache(TravelPlanRepository travelPlanRepository,
+                           TravelRepository travelRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${plan.cache.max-travels:1000}") int maxTravels,
+                           @Value("${plan.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.travelPlanRepository = travelPlanRepository;
+        this.travelRepository = travelRepository;
+        // 호출한 쪽 트랜잭션(커넥션)에서 그대로 읽는다. 새 트랜잭션을 열면 커넥션을 하나 더 잡게 되어,
+        // 동시 조회가 몰릴 때 기다리는 요청들이 커넥션을 쥔 채로 로딩이 커넥션을 못 받아 풀이 고갈된다.
+        // 호출한 쪽 스냅샷이 오래됐더라도 함께 읽은 버전이 낮으므로 다음 조회에서 다시 만들어진다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        this.transactionTemplate.setReadOnly(true);
+        this.cache = new CoalescingCache<>(maxTravels, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * @param version 호출한 쪽에서 읽은 일정 목록 버전. 캐시된 목록이 이보다 오래됐으면 다시 만든다.
+     * @return 수정할 수 없는 목록 (여러 요청이 같은 인스턴스를 공유함)
+     */
+    public List<TravelPlanResponse> get(Long travelId, long version) {
+        PlanSnapshot snapshot = cache.get(travelId, this::load);
+        if (snapshot.version() < version) {
+            cache.invalidate(travelId);
+            snapshot = cache.get(travelId, this::load);
+        }
+        return snapshot.plans();
+    }
+
+    /**
+     * 일정/장소 변경이 커밋되면 해당 여행의 목록을 비운다. (멤버 변경은 일정 목록과 무관)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTravelPlanEvent(TravelPlanEvent event) {
+        if (event.type() != TravelPlanEvent.Type.MEMBERS_UPDATED) {
+            cache.invalidate(event.travelId());
+        }
+    }
+
+    private PlanSnapshot load(Long travelId) {
+        return transactionTemplate.execute(status -> {
+            // 버전과 일정을 같은 트랜잭션에서 읽어 둘이 어긋나지 않게 한다.
+            long version = travelRepository.findPlanVersionById(travelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+            List<TravelPlanRow> rows = travelPlanRepository.findPlanRowsByTravelId(travelId);
+
+            // 정렬 키 순서대로 일차별 순서(1부터)를 매겨 DTO 리스트로 변환
+            int[] positions = TravelPlanRankService.densePositions(rows, TravelPlanRow::dayNumber);
+            List<TravelPlanResponse> responses = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                responses.add(new TravelPlanResponse(rows.get(i), positions[i]));
+            }
+            return new PlanSnapshot(version, List.copyOf(responses));
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.project.team.Service;
+
+import com.project.team.Entity.TravelPlan;
+import com.project.team.Repository.TravelPlanRepository;
+import com.project.team.Repository.TravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * 일정 정렬 키(rankKey) 관리.
+ * 키를 GAP 간격으로 띄워 두고, 추가/이동할 때는 앞뒤 일정 키의 중간값을 써서 그 일정 한 행만 바꾼다.
+ * 중간값을 더 쪼갤 수 없게 되면 그 일차만 즉시 다시 매기고, 간격이 좁아지기만 한 일차는 백그라운드에서 다시 매긴다.
+ * 화면에 보여주는 순서(sequence)는 조회할 때 rankKey 순서대로 1부터 계산한다.
+ *
+ * 추가/이동/재정렬은 모두 여행(Travel) 행을 잠근 트랜잭션 안에서 호출해야 한다. (같은 여행의 키 계산이 겹치지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TravelPlanRankService {
+
+    public static final long GAP = 1024;
+
+    // 이보다 간격이 좁아지면 백그라운드 재정렬 대상
+    private static final long MIN_GAP = 16;
+
+    private final TravelPlanRepository travelPlanRepository;
+    private final TravelRepository travelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<DayKey> pendingRebalances = ConcurrentHashMap.newKeySet();
+
+    private record DayKey(Long travelId, int dayNumber) {}
+
+    /**
+     * 계산된 위치. position 은 1부터 시작하는 실제 순서(요청한 위치를 일정 수에 맞춰 보정한 값)
+     */
+    public record Placement(long rankKey, int position) {}
+
+    /**
+     * dayNumber 일차의 position 번째(1부터) 자리에 들어갈 정렬 키를 계산한다.
+     * movingPlanId 가 있으면 그 일정은 빼고 계산한다. (같은 일차 안에서 이동할 때)
+     */
+    public Placement placeAt(Long travelId, int dayNumber, int position, Long movingPlanId) {
+        List<Long> keys = travelPlanRepository.findRankKeysOfDay(travelId, dayNumber, movingPlanId);
+        int index = Math.max(0, Math.min(position - 1, keys.size())); // 0..size
+
+        Long prev = index > 0 ? keys.get(index - 1) : null;
+        Long next = index < keys.size() ? keys.get(index) : null;
+
+        if (prev == null && next == null) {
+            return new Placement(GAP, 1);
+        }
+        if (prev == null) {
+            return new Placement(next - GAP, 1);
+        }
+        if (next == null) {
+            return new Placement(prev + GAP, index + 1);
+        }
+        if (next - prev < 2) {
+            // 더 쪼갤 수 없음 → 이 일차만 즉시 다시 매긴 뒤 계산
+            rebalanceDay(travelId, dayNumber);
+            return placeAt(travelId, dayNumber, position, movingPlanId);
+        }
+
+        long key = prev + (next - prev) / 2;
+        if (next - prev < MIN_GAP * 2) {
+            pendingRebalances.add(new DayKey(travelId, dayNumber));
+        }
+        return new Placement(key, index + 1);
+    }
+
+    /**
+     * 일정의 현재 순서 (일차 안에서 1부터)
+     */
+    public int positionOf(TravelPlan plan) {
+        return (int) travelPlanRepository.countBeforeRank(plan.getTravel().getId(), plan.getDayNumber(), plan.getRankKey()) + 1;
+    }
+
+    /**
+     * 일차의 정렬 키를 GAP, 2*GAP, ... 으로 다시 매긴다. (드물게만 실행됨)
+     */
+    public void rebalanceDay(Long travelId, int dayNumber) {
+        List<TravelPlan> plans = travelPlanRepository.findByTravelIdAndDayNumberOrderByRankKeyAsc(travelId, dayNumber);
+        long key = GAP;
+        for (TravelPlan plan : plans) {
+            plan.setRankKey(key);
+            key += GAP;
+        }
+        travelPlanRepository.flush();
+        pendingRebalances.remove(new DayKey(travelId, dayNumber));
+        log.info("일정 정렬 키 재정렬: travel={}, day={}, {}건", travelId, dayNumber, plans.size());
+    }
+
+    /**
+     * 간격이 좁아진 일차를 1분마다 다시 매긴다. 일차마다 여행 행을 잠근 별도 트랜잭션으로 처리한다.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void rebalancePendingDays() {
+        for (DayKey day : new ArrayList<>(pendingRebalances)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (travelRepository.findByIdForUpdate(day.travelId()).isEmpty()) {
+                        pendingRebalances.remove(day); // 삭제된 여행
+                        return;
+                    }
+                    rebalanceDay(day.travelId(), day.dayNumber());
+                });
+            } catch (RuntimeException e) {
+                log.warn("일정 정렬 키 재정렬 실패: travel={}, day={}: {}", day.travelId(), day.dayNumber(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 일차, 정렬 키 순서로 정렬된 목록(엔티티 또는 프로젝션)에 일차별 순서(1부터)를 매긴다.
+     */
+    public static <T> int[] densePositions(List<T> orderedByDayAndRank, ToIntFunction<T> dayNumberOf) {
+        int[] positions = new int[orderedByDayAndRank.size()];
+        int previousDay = Integer.MIN_VALUE;
+        int position = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int day = dayNumberOf.applyAsInt(orderedByDayAndRank.get(i));
+            position = (day == previousDay) ? position + 1 : 1;
+            previousDay = day;
+            positions[i] = position;
+        }
+        return positions;
+    }
+}
@@ -1,70 +1,88 @@
 package com.project.team.Service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.project.team.Dto.Travel.AddPlanRequest;
+import com.project.team.Dto.Travel.DayPlansResponse;
+import com.project.team.Dto.Travel.PlanBatchRequest;
+import com.project.team.Dto.Travel.RouteOptimizeResponse;
+import com.project.team.Dto.Travel.TravelPlanEvent;
 import com.project.team.Dto.Travel.TravelPlanResponse;
 import com.project.team.Dto.Travel.TravelPlanUpdateRequest;
+import com.project.team.Dto.TravelPermission.TravelRoster;
 import com.project.team.Entity.*;
 import com.project.team.Exception.AccessDeniedException;
 import com.project.team.Exception.BadRequestException;
 import com.project.team.Exception.ResourceNotFoundException;
 import com.project.team.Repository.*;
-import com.project.team.Service.API.PlaceApiService;
+import com.project.team.Util.RouteOptimizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TravelPlanService {
-    private final TravelPermissionRepository travelPermissionRepository;
+    private final TravelRosterService travelRosterService;
     private final TravelPlanRepository travelPlanRepository;
     private final TravelRepository travelRepository;
     private final PlaceRepository placeRepository;
-    private final PlaceApiService placeApiService;
-
-    // 데이터 갱신 주기 30일
-    private static final long REFRESH_DAYS_LIMIT = 30;
-
-    private Travel findTravelAndValidateOwner(Long travelId, User user) {
-        Travel travel = travelRepository.findById(travelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
-        if (!travel.getUser().getEmail().equals(user.getEmail()) && !travelPermissionRepository.existsByTravelIdAndUserId(travelId, user.getId())) {
+    private final PlaceService placeService;
+    private final TravelPlanRankService travelPlanRankService;
+    private final TravelPlanCache travelPlanCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 소유자 또는 공유받은 멤버인지 확인 (캐시된 멤버 명단에서 찾기만 함)
+    private void validateCanView(Long travelId, Long userId) {
+        if (!travelRosterService.get(travelId).hasAccess(userId)) {
             throw new AccessDeniedException("이 여행에 접근할 권한이 없습니다.");
         }
-        return travel;
     }
 
+    private long findPlanVersion(Long travelId) {
+        return travelRepository.findPlanVersionById(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+    }
+
+
+    /**
+     * 일정 목록 버전 조회 (ETag 용). 권한만 확인하고 일정 테이블은 읽지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public long getPlanVersion(Long travelId, Long userId) {
+        validateCanView(travelId, userId);
+        return findPlanVersion(travelId);
+    }
 
     /**
      * 특정 여행의 전체 일정 목록 조회
      *
      * @param travelId 조회할 여행의 ID
-     * @param user     현재 로그인한 사용자 (권한 확인용)
+     * @param userId   현재 로그인한 사용자 ID (권한 확인용)
      * @return TravelPlanResponse 리스트
      */
     @Transactional(readOnly = true) // 읽기전용으로 설정해두면 변경 상태를 추적할 필요가 없어서 최적화 가능
-    public List<TravelPlanResponse> getTravelPlans(Long travelId, User user) {
-        // 1. 여행 정보 조회 및 소유주 확인
-        Travel travel = findTravelAndValidateOwner(travelId, user);
-
-        // 2. Repository를 통해 정렬된 일정 목록 조회
-        List<TravelPlan> plans = travelPlanRepository.findByTravelIdOrderByDayNumberAscSequenceAsc(travelId);
+    public List<TravelPlanResponse> getTravelPlans(Long travelId, Long userId) {
+        // 1. 접근 권한 확인 후 현재 버전 조회
+        validateCanView(travelId, userId);
+        long version = findPlanVersion(travelId);
 
-        // 3. Entity 리스트를 DTO 리스트로 변환하여 반환
-        return plans.stream()
-                .map(TravelPlanResponse::new)
-                .collect(Collectors.toList());
+        // 2. 여행별 캐시에서 조회 (없으면 일정 + 장소를 쿼리 한 번으로 읽어 만들고, 동시 조회는 한 번으로 합쳐짐)
+        return travelPlanCache.get(travelId, version);
     }
 
     /**
@@ -73,13 +91,15 @@ public class TravelPlanService {
      * @param travelId 여행 ID
      * @param planId   수정할 일정 ID
      * @param request  수정할 정보 DTO
-     * @param user     현재 로그인한 사용자
+     * @param userId   현재 로그인한 사용자 ID
      * @return 수정된 일정 정보
      */
     @Transactional
-    public TravelPlanResponse updateTravelPlan(Long travelId, Long planId, TravelPlanUpdateRequest request, User user) {
-        // 1. 여행 소유주 확인
-        findTravelAndValidateOwner(travelId, user);
+    public TravelPlanResponse updateTravelPlan(Long travelId, Long planId, TravelPlanUpdateRequest request, Long userId) {
+        // 1. 순서 변경이 겹치지 않도록 여행 행을 먼저 잠근 뒤 소유주 확인
+        //    (잠금 전에 일반 조회를 하면 그 시점 스냅샷으로 읽게 되어 변경 알림에 다른 사람의 커밋이 빠질 수 있음)
+        travelRepository.findByIdForUpdate(travelId);
+        validateCanView(travelId, userId);
 
         // 2. 수정할 일정 조회
         TravelPlan travelPlan = travelPlanRepository.findById(planId)
@@ -90,38 +110,54 @@ public class TravelPlanService {
             throw new AccessDeniedException("This plan does not belong to the specified travel.");
         }
 
+        // 조회 이후 다른 사람이 수정했다면 409 (버전을 보내지 않으면 확인하지 않음)
+        if (request.version() != null && request.version() != travelPlan.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(TravelPlan.class, planId);
+        }
+
         // 4. 기존 값과 새로운 값 정의
         int oldDay = travelPlan.getDayNumber();
-        int oldSeq = travelPlan.getSequence();
+        int oldSeq = travelPlanRankService.positionOf(travelPlan);
         int newDay = request.dayNumber();
         int newSeq = request.sequence();
 
         // 5. 일차 또는 순서가 변경되었는지 확인
-        boolean needsResequence = (oldDay != newDay || oldSeq != newSeq);
-
-        // 만약 변경됐다면
-        if (needsResequence) {
-            // (삭제 로직) 기존 위치에서 해당 항목을 제거하고 뒤 항목들을 1씩 당김
-            reorderForDelete(travelId, oldDay, oldSeq);
-
-            // (삽입 로직) 새로운 위치에 해당 항목을 삽입하기 위해 뒤 항목들을 1씩 밀어냄
-            reorderForInsert(travelId, newDay, newSeq);
+        int position = oldSeq;
+        if (oldDay != newDay || oldSeq != newSeq) {
+            // 새 위치의 앞뒤 일정 사이 정렬 키를 받아 이 일정 한 행만 수정 (다른 일정은 건드리지 않음)
+            TravelPlanRankService.Placement placement = travelPlanRankService.placeAt(travelId, newDay, newSeq, planId);
+            travelPlan.setDayNumber(newDay);
+            travelPlan.setRankKey(placement.rankKey());
+            travelPlan.setSequence(placement.position());
+            position = placement.position();
         }
 
-        // 4. 엔티티 데이터 수정 (변경 감지로 인해 자동 UPDATE)
-        travelPlan.setDayNumber(newDay);
-        travelPlan.setSequence(newSeq);
+        // 6. 엔티티 데이터 수정 (변경 감지로 인해 자동 UPDATE)
         travelPlan.setMemo(request.memo());
-
-        TravelPlan updatedPlan = travelPlanRepository.save(travelPlan);
-        return new TravelPlanResponse(travelPlan);
+        long version = bumpPlanVersion(travelId);
+
+        // 바뀐 버전을 응답에 담기 위해 flush
+        travelPlanRepository.flush();
+        TravelPlanResponse response = new TravelPlanResponse(travelPlan, position);
+
+        // 7. 커밋 후 구독자에게 변경 내용 전송 (이동이면 바뀐 일차 전체, 메모만 바뀌었으면 그 일정만)
+        if (oldDay != newDay || oldSeq != newSeq) {
+            List<DayPlansResponse> days = oldDay == newDay
+                    ? List.of(dayPlans(travelId, newDay))
+                    : List.of(dayPlans(travelId, oldDay), dayPlans(travelId, newDay));
+            eventPublisher.publishEvent(TravelPlanEvent.ofDays(TravelPlanEvent.Type.PLAN_MOVED, travelId, version, days));
+        } else {
+            eventPublisher.publishEvent(TravelPlanEvent.ofRows(TravelPlanEvent.Type.PLAN_EDITED, travelId, version, List.of(response)));
+        }
+        return response;
     }
 
 
     @Transactional
-    public void deleteTravelPlan(Long travelId, Long planId, User user) {
-        // 1. 여행 소유주 확인
-        findTravelAndValidateOwner(travelId, user);
+    public void deleteTravelPlan(Long travelId, Long planId, Long userId) {
+        // 1. 여행 행 잠금 후 소유주 확인
+        travelRepository.findByIdForUpdate(travelId);
+        validateCanView(travelId, userId);
 
         // 2. 삭제할 일정 조회
         TravelPlan travelPlan = travelPlanRepository.findById(planId)
@@ -132,203 +168,274 @@ public class TravelPlanService {
 
         }
 
-        // 3. 삭제 전, 정보 저장
-        int dayNumber = travelPlan.getDayNumber();
-        int deletedSequence = travelPlan.getSequence();
-
-        // 4. 일정 삭제
+        // 3. 일정 삭제 (정렬 키는 간격만 생길 뿐이므로 다른 일정은 건드리지 않음)
         travelPlanRepository.delete(travelPlan);
-        travelPlanRepository.flush(); // 삭제는 즉시 반영
+        long version = bumpPlanVersion(travelId);
 
-        // 5. (재정렬) 삭제된 항목보다 뒤에 있던 항목들의 sequence를 1씩 감소시킴
-        reorderForDelete(travelId, dayNumber, deletedSequence);
+        // 4. 커밋 후 구독자에게 남은 일차 목록 전송
+        travelPlanRepository.flush();
+        eventPublisher.publishEvent(TravelPlanEvent.ofDays(TravelPlanEvent.Type.PLAN_DELETED, travelId, version,
+                List.of(dayPlans(travelId, travelPlan.getDayNumber()))));
     }
 
-    @Transactional
-    public TravelPlanResponse addPlan(Long travelId, AddPlanRequest request, User user) {
-        // 1. 여행(Travel) 조회
-        Travel travel = travelRepository.findById(travelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
-//        OWNER가 아니라면
-        if(!travel.getUser().getId().equals(user.getId())){
-            TravelPermission travelPermission = travelPermissionRepository.findByTravelIdAndUserId(travelId, user.getId())
-                    .orElseThrow(() -> new AccessDeniedException("이 여행에 접근할 권한이 없습니다."));
-            // 2. 권한 확인 (여행 생성자만 추가 가능, 추후 TravelPermission 확인 로직 추가 가능)
-            if (travelPermission.getRole().equals("ROLE_VIEWER")) {
-                throw new AccessDeniedException("보기 권한은 수정하실 수 없습니다.");
+    /**
+     * 일정 추가. 장소는 요청 정보만으로 찾거나 만들고 일정을 바로 커밋한다.
+     * 장소 상세 정보(전화번호, 영업시간 등)는 커밋 후 PlaceService 가 비동기로 채운 뒤 PLACE_UPDATED 로 알린다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TravelPlanResponse addPlan(Long travelId, AddPlanRequest request, Long userId) {
+        // 1~2. 권한 확인 (소유자 또는 보기 권한이 아닌 멤버만 추가 가능)
+        validateCanEdit(travelId, userId);
+
+        // 3. 장소(Place) 찾기 또는 생성 (별도 트랜잭션에서 바로 커밋되므로 아래 트랜잭션에서 보인다)
+        PlaceService.ResolvedPlace resolved = placeService.findOrCreate(request);
+
+        return transactionTemplate.execute(status -> {
+            // 4. 요청한 위치의 앞뒤 일정 사이 정렬 키 계산 (다른 일정은 건드리지 않음)
+            Travel lockedTravel = travelRepository.findByIdForUpdate(travelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+            TravelPlanRankService.Placement placement =
+                    travelPlanRankService.placeAt(travelId, request.dayNumber(), request.sequence(), null);
+
+            // 5. 새로운 TravelPlan 생성 및 저장
+            Place place = placeRepository.getReferenceById(resolved.placeId());
+            TravelPlan newPlan = new TravelPlan(lockedTravel, placement.position(), placement.rankKey(), request.memo(), request.dayNumber(), place);
+            TravelPlan savedPlan = travelPlanRepository.save(newPlan);
+            long version = bumpPlanVersion(travelId);
+
+            // 6. 커밋 후 구독자에게 추가된 일차 목록 전송, 장소 상세 정보 채우기
+            eventPublisher.publishEvent(TravelPlanEvent.ofDays(TravelPlanEvent.Type.PLAN_ADDED, travelId, version,
+                    List.of(dayPlans(travelId, request.dayNumber()))));
+            if (resolved.needsEnrichment()) {
+                eventPublisher.publishEvent(new PlaceService.EnrichmentRequested(resolved.placeId(), travelId));
             }
-        }
-
-        // 3. 장소(Place) 찾기 또는 생성
-        Place place = findOrCreatePlace(request);
-
-        // 4. (재정렬) 새로운 일정이 삽입될 위치(request.sequence) 및 그 뒤의 모든 일정 순서를 1씩 밀어냄
-        reorderForInsert(travelId, request.dayNumber(), request.sequence());
-        travelPlanRepository.flush(); // 순서 변경을 DB에 즉시 반영
-
-        // 5. 새로운 TravelPlan 생성 및 저장
-        TravelPlan newPlan = new TravelPlan(travel, request.sequence(), request.memo(), request.dayNumber(), place);
-
-        return new TravelPlanResponse(travelPlanRepository.save(newPlan));
+            return new TravelPlanResponse(savedPlan, placement.position());
+        });
     }
 
     /**
-     * 삽입을 위해 space 확보: targetSequence 이상인 항목들의 sequence를 +1
+     * 여러 일정 추가/이동/삭제를 한 트랜잭션으로 적용 (드래그 앤 드롭 한 번 = 요청 한 번)
+     * 권한 확인과 여행 잠금은 한 번만 하고, 변경이 있었던 일차마다 정렬 키를 한 번씩만 다시 매긴다.
+     *
+     * @return 변경이 있었던 일차들의 최종 일정 목록
      */
-    private void reorderForInsert(Long travelId, int dayNumber, int targetSequence) {
-        // 1. 해당 일차의 모든 일정을 순서대로 가져옴
-        List<TravelPlan> plans = travelPlanRepository.findByTravelIdAndDayNumberOrderBySequenceAsc(travelId, dayNumber);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DayPlansResponse> applyPlanBatch(Long travelId, PlanBatchRequest request, Long userId) {
+        // 1. 수정 권한 확인 (한 번만)
+        validateCanEdit(travelId, userId);
+
+        // 2. 추가할 장소는 여행 행을 잠그기 전에 찾거나 생성 (별도 트랜잭션에서 바로 커밋됨)
+        List<PlanBatchRequest.Operation> operations = request.operations();
+        Map<Integer, PlaceService.ResolvedPlace> insertPlaces = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PlanBatchRequest.Operation operation = operations.get(i);
+            if (operation.type() == PlanBatchRequest.Type.INSERT) {
+                if (operation.plan() == null || operation.plan().googlePlaceId() == null) {
+                    throw new BadRequestException((i + 1) + "번째 변경: 추가할 장소 정보가 없습니다.");
+                }
+                insertPlaces.put(i, placeService.findOrCreate(operation.plan()));
+            }
+        }
 
-        // 2. 순회하며 sequence 변경
-        for (TravelPlan plan : plans) {
-            if (plan.getSequence() >= targetSequence) { // 변경할 일정과 그 뒤의 일정을 둘 다 변경하니까 ">=" 사용
-                plan.setSequence(plan.getSequence() + 1);
-                // JPA 영속성 컨텍스트가 변경을 감지하여 트랜잭션 종료 시 update 쿼리를 날린다.
+        return transactionTemplate.execute(status -> applyOperations(travelId, operations, insertPlaces));
+    }
+
+    private List<DayPlansResponse> applyOperations(Long travelId, List<PlanBatchRequest.Operation> operations,
+                                                   Map<Integer, PlaceService.ResolvedPlace> insertPlaces) {
+        // 3. 여행의 전체 일정을 한 번에 불러와 일차별 목록으로 나눈다.
+        Travel travel = travelRepository.findByIdForUpdate(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+        Map<Integer, List<TravelPlan>> days = new TreeMap<>();
+        Map<Long, TravelPlan> plansById = new HashMap<>();
+        for (TravelPlan plan : travelPlanRepository.findByTravelIdOrderByDayNumberAscRankKeyAsc(travelId)) {
+            days.computeIfAbsent(plan.getDayNumber(), k -> new ArrayList<>()).add(plan);
+            plansById.put(plan.getId(), plan);
+        }
+
+        // 4. 메모리 위의 목록에 순서대로 적용
+        Set<Integer> affectedDays = new TreeSet<>();
+        List<TravelPlan> newPlans = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PlanBatchRequest.Operation operation = operations.get(i);
+            switch (operation.type()) {
+                case DELETE -> {
+                    TravelPlan plan = requirePlan(plansById, operation.planId(), i);
+                    days.get(plan.getDayNumber()).remove(plan);
+                    plansById.remove(plan.getId());
+                    affectedDays.add(plan.getDayNumber());
+                    travelPlanRepository.delete(plan);
+                }
+                case MOVE -> {
+                    TravelPlan plan = requirePlan(plansById, operation.planId(), i);
+                    int dayNumber = requirePosition(operation.dayNumber(), "일차", i);
+                    int sequence = requirePosition(operation.sequence(), "순서", i);
+                    days.get(plan.getDayNumber()).remove(plan);
+                    affectedDays.add(plan.getDayNumber());
+                    plan.setDayNumber(dayNumber);
+                    if (operation.memo() != null) {
+                        plan.setMemo(operation.memo());
+                    }
+                    insertAt(days.computeIfAbsent(dayNumber, k -> new ArrayList<>()), plan, sequence);
+                    affectedDays.add(dayNumber);
+                }
+                case INSERT -> {
+                    AddPlanRequest plan = operation.plan();
+                    int dayNumber = requirePosition(operation.dayNumber() != null ? operation.dayNumber() : plan.dayNumber(), "일차", i);
+                    int sequence = requirePosition(operation.sequence() != null ? operation.sequence() : plan.sequence(), "순서", i);
+                    String memo = operation.memo() != null ? operation.memo() : plan.memo();
+                    Place place = placeRepository.getReferenceById(insertPlaces.get(i).placeId());
+                    TravelPlan newPlan = new TravelPlan(travel, sequence, 0L, memo, dayNumber, place);
+                    insertAt(days.computeIfAbsent(dayNumber, k -> new ArrayList<>()), newPlan, sequence);
+                    newPlans.add(newPlan);
+                    affectedDays.add(dayNumber);
+                }
             }
         }
-        // saveAll을 호출할 필요 없이, 트랜잭션이 종료되면 JPA가 변경된 것을 감지(Dirty Checking)하고 update 쿼리를 실행한다.
+
+        // 5. 변경된 일차마다 정렬 키를 한 번에 다시 매긴다. (값이 그대로인 일정은 UPDATE 되지 않음)
+        for (int dayNumber : affectedDays) {
+            resequence(days.getOrDefault(dayNumber, List.of()));
+        }
+        travelPlanRepository.saveAll(newPlans);
+        long version = bumpPlanVersion(travelId);
+        travelPlanRepository.flush(); // 응답에 바뀐 버전을 담기 위해
+
+        // 커밋 후 새 장소/오래된 장소의 상세 정보 채우기
+        insertPlaces.values().stream()
+                .filter(PlaceService.ResolvedPlace::needsEnrichment)
+                .map(PlaceService.ResolvedPlace::placeId)
+                .distinct()
+                .forEach(placeId -> eventPublisher.publishEvent(new PlaceService.EnrichmentRequested(placeId, travelId)));
+
+        List<DayPlansResponse> result = new ArrayList<>();
+        for (int dayNumber : affectedDays) {
+            List<TravelPlan> dayPlans = days.getOrDefault(dayNumber, List.of());
+            List<TravelPlanResponse> responses = new ArrayList<>(dayPlans.size());
+            for (int position = 1; position <= dayPlans.size(); position++) {
+                responses.add(new TravelPlanResponse(dayPlans.get(position - 1), position));
+            }
+            result.add(new DayPlansResponse(dayNumber, responses));
+        }
+        eventPublisher.publishEvent(TravelPlanEvent.ofDays(TravelPlanEvent.Type.PLANS_CHANGED, travelId, version, result));
+        return result;
     }
 
     /**
-     * 삭제/이동 후 빈공간 메우기: deletedSequence 보다 큰 항목들의 sequence를 -1
+     * 일차의 일정 순서를 이동 거리가 짧아지도록 다시 정한다. (좌표가 없는 일정은 순서를 유지한 채 맨 뒤로)
+     *
+     * @param fixFirst 첫 일정을 고정할지 여부. null 이면 첫 일정이 숙소일 때만 고정
+     * @param fixLast  마지막 일정을 고정할지 여부. null 이면 마지막 일정이 숙소일 때만 고정
      */
-    private void reorderForDelete(Long travelId, int dayNumber, int deletedSequence) {
-        List<TravelPlan> plans = travelPlanRepository.findByTravelIdAndDayNumberOrderBySequenceAsc(travelId, dayNumber);
+    @Transactional
+    public RouteOptimizeResponse optimizeDay(Long travelId, int dayNumber, Boolean fixFirst, Boolean fixLast, Long userId) {
+        // 1. 여행 행 잠금 후 권한 확인
+        travelRepository.findByIdForUpdate(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
+        validateCanEdit(travelId, userId);
 
+        // 2. 일차 일정 조회 (장소 좌표 포함), 좌표가 있는 일정만 최적화 대상
+        List<TravelPlan> plans = travelPlanRepository.findDayWithPlace(travelId, dayNumber);
+        List<TravelPlan> located = new ArrayList<>(plans.size());
+        List<TravelPlan> unlocated = new ArrayList<>();
         for (TravelPlan plan : plans) {
-            // 삭제된 항목 자체는 이미 리스트에 없으므로, 'deletedSequence' 보다 "큰" 항목들만 당긴다.
-            if (plan.getSequence() > deletedSequence) {
-                plan.setSequence(plan.getSequence() - 1);
-            }
+            Place place = plan.getPlace();
+            (place.getLatitude() != null && place.getLongitude() != null ? located : unlocated).add(plan);
         }
-    }
 
+        double[] latitudes = new double[located.size()];
+        double[] longitudes = new double[located.size()];
+        for (int i = 0; i < located.size(); i++) {
+            latitudes[i] = located.get(i).getPlace().getLatitude();
+            longitudes[i] = located.get(i).getPlace().getLongitude();
+        }
+        boolean keepFirst = fixFirst != null ? fixFirst : !located.isEmpty() && isAccommodation(located.get(0));
+        boolean keepLast = fixLast != null ? fixLast : !located.isEmpty() && isAccommodation(located.get(located.size() - 1));
+
+        // 3. 최적화 후 새 순서대로 정렬 키를 한 번에 다시 매긴다.
+        RouteOptimizer.Result result = RouteOptimizer.optimize(latitudes, longitudes, keepFirst, keepLast);
+        List<TravelPlan> ordered = new ArrayList<>(plans.size());
+        for (int index : result.order()) {
+            ordered.add(located.get(index));
+        }
+        ordered.addAll(unlocated);
+        resequence(ordered);
+        long version = bumpPlanVersion(travelId);
+        travelPlanRepository.flush();
+
+        List<TravelPlanResponse> responses = new ArrayList<>(ordered.size());
+        for (int position = 1; position <= ordered.size(); position++) {
+            responses.add(new TravelPlanResponse(ordered.get(position - 1), position));
+        }
+        eventPublisher.publishEvent(TravelPlanEvent.ofDays(TravelPlanEvent.Type.PLANS_CHANGED, travelId, version,
+                List.of(new DayPlansResponse(dayNumber, responses))));
+        return new RouteOptimizeResponse(dayNumber, Math.round(result.initialMeters()), Math.round(result.optimizedMeters()), responses);
+    }
 
-    /**
-     * Google Place ID를 기준으로 장소를 찾거나, 없으면 새로 생성하여 반환합니다.
-     * 장소 생성 시, 타입에 맞는 상세 테이블(Accommodation 등)에도 함께 저장합니다.
-     */
-    private Place findOrCreatePlace(AddPlanRequest request) {
-        // 1. Google Place ID로 DB에서 장소를 검색합니다.
-        return placeRepository.findByGooglePlaceId(request.googlePlaceId())
-                .map(existingPlace -> {
-                    // 데이터가 갱신된 지 30일이 넘었는지 확인
-                    boolean isStale = existingPlace.getUpdatedAt() == null || ChronoUnit.DAYS.between(existingPlace.getUpdatedAt(),
-                            LocalDateTime.now()) > REFRESH_DAYS_LIMIT;
-                    if (isStale) {
-                        log.info("Place 데이터가 최신 버전이 아닙니다. ({}). 최신화 중...", existingPlace.getName());
-                        // 30일이 지났으니 API로 최신 정보를 가져와 덮어쓴다.
-                        return refreshPlaceDetails(existingPlace);
-                    }
-                    // 30일 이내이므로, DB 데이터 재사용 (API 호출 X)
-                    log.debug("Place 데이터가 최신 버전입니다. ({}). DB에 저장된 정보를 씁니다.", existingPlace.getName());
-                    return existingPlace;
-                })
-                .orElseGet(() -> {
-                    // --- 2. 장소가 DB에 없을 경우 (Create) ---
-                    log.info("DB에 없는 장소입니다. 새로 저장하겠습니다 : {}", request.name());
-                    return createNewPlace(request);
-                });
+    // 일정 목록 버전을 올리고 올라간 버전을 반환한다. (여행 행을 잠근 트랜잭션 안에서 호출하므로 다른 변경과 겹치지 않음)
+    private long bumpPlanVersion(Long travelId) {
+        travelRepository.incrementPlanVersion(travelId);
+        return travelRepository.findPlanVersionById(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Travel not found with id: " + travelId));
     }
 
-    /**
-     * 새 장소를 생성하고 상세 정보(전화번호 등)를 저장
-     */
-    private Place createNewPlace(AddPlanRequest request) {
-        JsonNode details = placeApiService.fetchPlaceDetails(request.googlePlaceId()).block();
-
-        Place newPlace = new Place();
-        newPlace.setGooglePlaceId(request.googlePlaceId());
-        newPlace.setName(request.name());
-        newPlace.setAddress(request.address());
-        newPlace.setType(request.type());
-        newPlace.setLatitude(request.latitude());
-        newPlace.setLongitude(request.longitude());
-
-        // save 하기 전에 폐업 여부 먼저 확인
-        if(details != null){
-            saveOrUpdateDetailsByType(newPlace, request.type(), details);
+    // 일차의 현재 일정 전체 (변경 알림용, flush 이후 호출)
+    private DayPlansResponse dayPlans(Long travelId, int dayNumber) {
+        List<TravelPlan> plans = travelPlanRepository.findDayWithPlace(travelId, dayNumber);
+        List<TravelPlanResponse> responses = new ArrayList<>(plans.size());
+        for (int position = 1; position <= plans.size(); position++) {
+            responses.add(new TravelPlanResponse(plans.get(position - 1), position));
         }
+        return new DayPlansResponse(dayNumber, responses);
+    }
 
-        // 폐업 예외가 발생하지 않은 경우에만 저장
-        Place savedPlace = placeRepository.save(newPlace);
-        savedPlace.setUpdatedAt(LocalDateTime.now()); // 생성 시에도 갱신 시간 마킹
-        return savedPlace;
+    private static boolean isAccommodation(TravelPlan plan) {
+        return "숙소".equals(plan.getPlace().getType());
     }
 
-    /**
-     *  기존 장소의 상세 정보를 API로 갱신
-     */
-    private Place refreshPlaceDetails(Place placeToUpdate) {
-        JsonNode details = placeApiService.fetchPlaceDetails(placeToUpdate.getGooglePlaceId()).block();
-        // 상세 정보 갱신 (전화번호, 영업시간 등)
-        if(details != null) {
-            saveOrUpdateDetailsByType(placeToUpdate, placeToUpdate.getType(), details);
+    // 일차 일정 목록 순서대로 정렬 키를 GAP 간격으로, 순서를 1부터 다시 매긴다.
+    private static void resequence(List<TravelPlan> dayPlans) {
+        long rankKey = TravelPlanRankService.GAP;
+        for (int position = 1; position <= dayPlans.size(); position++) {
+            TravelPlan plan = dayPlans.get(position - 1);
+            plan.setRankKey(rankKey);
+            plan.setSequence(position);
+            rankKey += TravelPlanRankService.GAP;
         }
-        placeToUpdate.setUpdatedAt(LocalDateTime.now()); // 갱신 시간 마킹
-        return placeRepository.save(placeToUpdate);
     }
 
     /**
-     * API 응답을 파싱하여 타입별 상세 테이블에 저장/갱신하는 메서드
+     * 소유자이거나 보기 권한(ROLE_VIEWER)이 아닌 멤버인지 확인
      */
-    private void saveOrUpdateDetailsByType(Place place, String type, JsonNode detailsNode) {
-        if(!detailsNode.has("result")) {
-            log.warn("Place Details API에 'result' 필드가 없습니다 : {}", place.getGooglePlaceId());
-            return;
+    private void validateCanEdit(Long travelId, Long userId) {
+        TravelRoster roster = travelRosterService.get(travelId);
+        if (!roster.hasAccess(userId)) {
+            throw new AccessDeniedException("이 여행에 접근할 권한이 없습니다.");
         }
-        JsonNode result = detailsNode.get("result");
-
-        // 영구 폐업 여부 확인
-        if(result.has("permanently_closed") && result.get("permanently_closed").asBoolean(false)) {
-            log.warn("{} ({})는 폐업했습니다.", place.getName(), place.getGooglePlaceId());
-            // 폐업한 장소는 일정에 추가되지 않도록 예외 발생
-            throw new BadRequestException("'" + place.getName() + "'(은)는 영구적으로 폐업한 장소이므로 추가할 수 없습니다.");
+        if (!roster.canEdit(userId)) {
+            throw new AccessDeniedException("보기 권한은 수정하실 수 없습니다.");
         }
-        String phoneNumber = result.has("formatted_phone_number") ?
-                result.get("formatted_phone_number").asText(null) : null;
-
-        Boolean openNow = null;
-        String openingHoursText = null;
+    }
 
-        if(result.has("opening_hours")) {
-            JsonNode hoursNode = result.get("opening_hours");
-            if(hoursNode.has("open_now")) {
-                openNow = hoursNode.get("open_now").asBoolean();
-            }
-            // "월요일: ...", "화요일: ..." 배열을 하나의 문자열로 합칩니다.
-            if(hoursNode.has("weekday_text") && hoursNode.get("weekday_text").isArray()) {
-                openingHoursText = StreamSupport.stream(hoursNode.get("weekday_text").spliterator(), false)
-                        .map(JsonNode::asText)
-                        .collect(Collectors.joining("\n"));
-            }
+    private static TravelPlan requirePlan(Map<Long, TravelPlan> plansById, Long planId, int index) {
+        if (planId == null) {
+            throw new BadRequestException((index + 1) + "번째 변경: 일정 ID가 없습니다.");
         }
+        TravelPlan plan = plansById.get(planId);
+        if (plan == null) {
+            throw new ResourceNotFoundException("Travel Plan not found with id: " + planId);
+        }
+        return plan;
+    }
 
-        // --- 숙소, 관광지, 음식점 타입별로 갱신 ---
-        switch (type) {
-            case "숙소":
-                place.getAccommodations().clear(); // 기존 정보 삭제
-                Accommodation accommodation = new Accommodation(place, phoneNumber);
-                place.getAccommodations().add(accommodation);
-                break;
-            case "관광지":
-                place.getAttractions().clear();
-                Attraction attraction = new Attraction();
-                attraction.setPlace(place);
-                attraction.setOpenNow(openNow);
-                attraction.setOpeningHoursText(openingHoursText);
-                place.getAttractions().add(attraction);
-                break;
-            case "음식점":
-                place.getRestaurants().clear();
-                Restaurant restaurant = new Restaurant(place, phoneNumber);
-                restaurant.setOpenNow(openNow);
-                restaurant.setOpeningHoursText(openingHoursText);
-                place.getRestaurants().add(restaurant);
-                break;
-
-            default:
-                log.warn("올바른 타입(숙소, 관광지, 음식점)이 아닙니다.: {}", type);
+    private static int requirePosition(Integer value, String name, int index) {
+        if (value == null || value < 1) {
+            throw new BadRequestException((index + 1) + "번째 변경: " + name + "는 1 이상이어야 합니다.");
         }
+        return value;
+    }
+
+    // sequence(1부터) 위치에 삽입. 범위를 넘으면 맨 뒤에 붙인다.
+    private static void insertAt(List<TravelPlan> dayPlans, TravelPlan plan, int sequence) {
+        dayPlans.add(Math.min(sequence - 1, dayPlans.size()), plan);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.project.team.Service;
+
+import com.project.team.Dto.Travel.TravelPlanEvent;
+import com.project.team.Dto.TravelPermission.TravelPermissionResponse;
+import com.project.team.Dto.TravelPermission.TravelRoster;
+import com.project.team.Entity.User;
+import com.project.team.Exception.ResourceNotFoundException;
+import com.project.team.Permission.PermissionRole;
+import com.project.team.Repository.TravelPermissionRepository;
+import com.project.team.Repository.TravelRepository;
+import com.project.team.Util.CoalescingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * 여행별 멤버 명단(TravelRoster) 캐시.
+ * 여행/일정/공유 API 의 권한 확인은 캐시된 명단에서 찾기만 하고, 공유 목록 조회도 같은 명단으로 응답한다.
+ * 명단에는 읽을 때의 Travel.membersVersion 을 함께 두고, 조회할 때마다 현재 버전(PK 조회 한 번)과 비교해 오래됐으면 다시 읽는다.
+ * 그래서 다른 서버에서 권한이 회수/변경되어도 다음 요청부터 반영된다. (이 서버의 변경은 MEMBERS_UPDATED 커밋 후 바로 비움)
+ */
+@Service
+public class TravelRosterService {
+
+    private final TravelRepository travelRepository;
+    private final TravelPermissionRepository permissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CoalescingCache<Long, TravelRoster> cache;
+
+    public TravelRosterService(TravelRepository travelRepository,
+                               TravelPermissionRepository permissionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${roster.cache.max-travels:5000}") int maxTravels,
+                               @Value("${roster.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.travelRepository = travelRepository;
+        this.permissionRepository = permissionRepository;
+        // 권한 확인은 대부분 트랜잭션 안에서 불리므로 호출한 쪽 커넥션으로 읽는다. (로딩용 커넥션을 따로 잡지 않음)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        this.transactionTemplate.setReadOnly(true);
+        this.cache = new CoalescingCache<>(maxTravels, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * 여행 멤버 명단. 없거나 현재 버전보다 오래됐으면 소유자 + 권한 목록을 읽어 만든다. (여행이 없으면 404)
+     */
+    public TravelRoster get(Long travelId) {
+        long version = findMembersVersion(travelId);
+        TravelRoster roster = cache.get(travelId, this::load);
+        if (roster.version() < version) {
+            cache.invalidate(travelId);
+            roster = cache.get(travelId, this::load);
+        }
+        return roster;
+    }
+
+    public void evict(Long travelId) {
+        cache.invalidate(travelId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTravelPlanEvent(TravelPlanEvent event) {
+        if (event.type() == TravelPlanEvent.Type.MEMBERS_UPDATED) {
+            cache.invalidate(event.travelId());
+        }
+    }
+
+    private TravelRoster load(Long travelId) {
+        return transactionTemplate.execute(status -> {
+            // 버전과 명단을 같은 트랜잭션에서 읽어 둘이 어긋나지 않게 한다.
+            long version = findMembersVersion(travelId);
+            User owner = travelRepository.findOwnerById(travelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("해당 여행을 찾을 수 없습니다. ID: " + travelId));
+            TravelPermissionResponse ownerEntry = new TravelPermissionResponse(
+                    null, // 소유자는 Permission 테이블에 ID가 없음
+                    owner.getId(),
+                    owner.getNickname(),
+                    owner.getEmail(),
+                    PermissionRole.ROLE_OWNER.name()
+            );
+            return new TravelRoster(travelId, version, ownerEntry, permissionRepository.findRosterMembers(travelId));
+        });
+    }
+
+    private long findMembersVersion(Long travelId) {
+        return travelRepository.findMembersVersionById(travelId)
+                .orElseThrow(() -> new ResourceNotFoundException("해당 여행을 찾을 수 없습니다. ID: " + travelId));
+    }
+}
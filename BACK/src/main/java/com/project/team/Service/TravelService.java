@@ -5,36 +5,42 @@ import com.project.team.Dto.Travel.TravelResponse;
 import com.project.team.Dto.Travel.UpdateTravelRequest;
 import com.project.team.Entity.Travel;
 import com.project.team.Entity.TravelPermission;
+import com.project.team.Entity.TravelPlan;
 import com.project.team.Entity.User;
 import com.project.team.Entity.flight.Airport;
 import com.project.team.Exception.AccessDeniedException;
 import com.project.team.Repository.AirportRepository;
 import com.project.team.Repository.TravelPermissionRepository;
+import com.project.team.Repository.TravelPlanRepository;
 import com.project.team.Repository.TravelRepository;
 import com.project.team.Repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TravelService {
     private final TravelPermissionRepository travelPermissionRepository;
     private final TravelRepository travelRepository;
+    private final TravelPlanRepository travelPlanRepository;
     private final UserRepository userRepository;
     private final AirportRepository airportRepository;
+    private final TravelRosterService travelRosterService;
 
     // 새로운 여행 계획 생성
-    public ResponseEntity<Travel> createTravel(CreateTravelRequest dto, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + principal.getName()));
+    public ResponseEntity<Travel> createTravel(CreateTravelRequest dto, Long userId) {
+        // 토큰의 사용자 ID로 참조만 만든다. (users 조회 없음)
+        User user = userRepository.getReferenceById(userId);
 
         Travel travel = new Travel(
                 user,
@@ -55,10 +61,8 @@ public class TravelService {
     }
 
     // 특정 여행의 상세 정보 조회
-    public TravelResponse getTravelDetails(Long travelId, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        Travel travel = findTravelAndValidateOwner(travelId, user);
+    public TravelResponse getTravelDetails(Long travelId, Long userId) {
+        Travel travel = findTravelAndValidateOwner(travelId, userId);
 
         // countryCode(예: NRT)를 이용해 Airport 엔티티 조회 -> city(예: 도쿄) 추출
         String destinationCity = airportRepository.findById(travel.getCountryCode())
@@ -70,12 +74,9 @@ public class TravelService {
 
     // 특정 여행 정보 수정 (제목, 날짜)
     @Transactional
-    public TravelResponse updateTravel(Long travelId, UpdateTravelRequest request, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    public TravelResponse updateTravel(Long travelId, UpdateTravelRequest request, Long userId) {
         // 소유자 검증
-        Travel travel = findTravelAndValidateOwner(travelId, user);
+        Travel travel = findTravelAndValidateOwner(travelId, userId);
 
         // DTO에 값이 있는 경우에만 업데이트 (제목만 바꾸고 싶으면 날짜는 null로 보내면 됨)
         if (request.title() != null) travel.setTitle(request.title());
@@ -92,18 +93,67 @@ public class TravelService {
     }
 
     // 특정 여행 삭제
-    public void deleteTravel(Long travelId, Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + principal.getName()));
-        Travel travel = findTravelAndValidateOwner(travelId, user);
+    public void deleteTravel(Long travelId, Long userId) {
+        Travel travel = findTravelAndValidateOwner(travelId, userId);
         travelRepository.delete(travel);
+        travelRosterService.evict(travelId);
+    }
+
+    /**
+     * 여행 복사 (소유자만 가능). 여행 정보, 전체 일정, 공유 권한을 복사하고 항공편과 채팅은 복사하지 않는다.
+     * id 를 시퀀스에서 미리 받아 두므로 INSERT 가 엔티티 종류별로 묶여 배치로 나간다. (일정 수와 관계없이 왕복 몇 번)
+     */
+    @Transactional
+    public TravelResponse cloneTravel(Long travelId, Long userId) {
+        Travel source = travelRepository.findById(travelId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 여행이 존재하지 않습니다. id=" + travelId));
+        if (!source.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("여행 복사는 소유자만 가능합니다.");
+        }
+        User user = source.getUser();
+        long startedAt = System.nanoTime();
+
+        Travel copy = travelRepository.save(new Travel(
+                user,
+                source.getCountryCode(),
+                source.getTitle() + " (복사본)",
+                source.getStartDate(),
+                source.getEndDate(),
+                source.getTravelerCount(),
+                source.getDeparture()
+        ));
+
+        // 장소는 참조만 복사한다. (장소 행을 읽지 않음)
+        List<TravelPlan> plans = new ArrayList<>();
+        for (TravelPlan plan : travelPlanRepository.findByTravelIdOrderByDayNumberAscRankKeyAsc(travelId)) {
+            plans.add(new TravelPlan(copy, plan.getSequence(), plan.getRankKey(), plan.getMemo(), plan.getDayNumber(), plan.getPlace()));
+        }
+        travelPlanRepository.saveAll(plans);
+
+        List<TravelPermission> permissions = new ArrayList<>();
+        for (TravelPermission permission : travelPermissionRepository.findByTravelId(travelId)) {
+            TravelPermission newPermission = new TravelPermission();
+            newPermission.setTravel(copy);
+            newPermission.setUser(permission.getUser());
+            newPermission.setRole(permission.getRole());
+            permissions.add(newPermission);
+        }
+        travelPermissionRepository.saveAll(permissions);
+        travelRepository.flush();
+        log.info("여행 복사: {} → {} (일정 {}건, 권한 {}건, {}ms)", travelId, copy.getId(), plans.size(), permissions.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+
+        String destinationCity = airportRepository.findById(copy.getCountryCode())
+                .map(Airport::getCity)
+                .orElse(copy.getCountryCode());
+        return new TravelResponse(copy, destinationCity);
     }
 
     // 소유자 검증 메서드
-    private Travel findTravelAndValidateOwner(Long travelId, User user) {
+    private Travel findTravelAndValidateOwner(Long travelId, Long userId) {
         Travel travel = travelRepository.findById(travelId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 여행이 존재하지 않습니다. id=" + travelId));
-        if (!travel.getUser().getId().equals(user.getId()) && !travelPermissionRepository.existsByTravelIdAndUserId(travelId, user.getId())) {
+        if (!travelRosterService.get(travelId).hasAccess(userId)) {
             throw new AccessDeniedException("You do not have permission to access this travel.");
         }
         return travel;
@@ -8,6 +8,7 @@ import com.project.team.Entity.User;
 import com.project.team.Exception.AccessDeniedException;
 import com.project.team.Exception.EmailExistsException;
 import com.project.team.Repository.EmailVerificationTokenRepository;
+import com.project.team.Repository.TravelRepository;
 import com.project.team.Repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +27,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailVerificationTokenRepository tokenRepository;
     private final MailService mailService;
+    private final TravelRepository travelRepository;
 
     // 회원 가입
     public ResponseEntity<?> signUp(UserSignUpRequest dto) {
@@ -62,6 +64,8 @@ public class UserService {
             if (dto.nickname() != null) {
                 user.setNickname(dto.nickname());
                 userRepository.save(user);
+                // 공유 목록에 보이는 닉네임이 바뀌므로 참여 중인 여행들의 멤버 명단 버전을 올린다.
+                travelRepository.incrementMembersVersionByUserId(user.getId());
                 return ResponseEntity.ok().build();
             }
         }
@@ -77,6 +81,7 @@ public class UserService {
         // 닉네임 변경: 새로운 닉네임이 제공되었고, 기존 닉네임과 다를 경우
         if (dto.nickname() != null && !dto.nickname().isEmpty() && !user.getNickname().equals(dto.nickname())) {
             user.setNickname(dto.nickname());
+            travelRepository.incrementMembersVersionByUserId(user.getId());
             isModified = true;
         }
 
@@ -0,0 +1,237 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FareMatrixCell;
+import com.project.team.Dto.flight.FareMatrixRequest;
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Exception.BadRequestException;
+import com.project.team.Repository.AirportRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 날짜(±N일) × 도착 공항 조합의 최저가를 한 번에 검색한다.
+ * - 캐시에 있는 칸은 바로 내려주고, 나머지만 제한된 개수의 스레드로 나눠 크롤링한다.
+ * - 칸이 완성되는 순서대로 onCell 로 넘기므로 브라우저는 한 번의 요청으로 결과를 점진적으로 받는다.
+ * - 응답 시간(timeout-seconds) 안에 끝낼 수 있는 만큼만 크롤링하고, 나머지 칸은 pending 으로 내려준다.
+ *   (기본값: 동시 크롤링 수 × (응답 시간 / 크롤링 한 건 제한 시간))
+ * - 매트릭스 칸 검색은 인기 노선 집계(검색 기록)에 남기지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FareMatrixService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final FlightSearchCache flightSearchCache;
+    private final AirportRepository airportRepository;
+
+    @Value("${flight.matrix.parallelism:2}")
+    private int parallelism;
+
+    @Value("${flight.matrix.max-flex-days:3}")
+    private int maxFlexDays;
+
+    @Value("${flight.matrix.max-destinations:4}")
+    private int maxDestinations;
+
+    @Value("${flight.matrix.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    // 0 이면 응답 시간과 크롤링 제한 시간으로 계산
+    @Value("${flight.matrix.max-crawl-cells:0}")
+    private int maxCrawlCells;
+
+    @Value("${flight.crawler.job-timeout-seconds:90}")
+    private long crawlTimeoutSeconds;
+
+    // 모든 매트릭스 요청이 공유하는 스레드 (크롤러 풀보다 많이 띄워봐야 대기만 늘어난다)
+    private ExecutorService executor;
+
+    // 요청 스레드 대신 매트릭스 응답을 써 내려가는 스레드
+    private final ExecutorService streamExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fare-matrix-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "fare-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (maxCrawlCells <= 0) {
+            maxCrawlCells = parallelism * (int) Math.max(1, timeoutSeconds / Math.max(1, crawlTimeoutSeconds));
+        }
+        log.info("요금 매트릭스: 응답 시간 {}초, 요청당 최대 크롤링 {}칸", timeoutSeconds, maxCrawlCells);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        streamExecutor.shutdownNow();
+    }
+
+    /**
+     * 매트릭스 응답 하나에 허용하는 시간 (전역 비동기 타임아웃과 별개)
+     */
+    public long timeoutMillis() {
+        return TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    }
+
+    /**
+     * 요청을 검증하고 검색할 칸 목록으로 펼친다. 지난 날짜로 옮겨지는 칸은 제외한다.
+     */
+    public List<FlightSearchRequest> expand(FareMatrixRequest request) {
+        if (request.depAp() == null || request.depAp().isBlank()) {
+            throw new BadRequestException("출발 공항을 입력해주세요.");
+        }
+        if (request.arrAps() == null || request.arrAps().isEmpty()) {
+            throw new BadRequestException("도착 공항을 하나 이상 입력해주세요.");
+        }
+        if (request.adult() < 1) {
+            throw new BadRequestException("인원은 1명 이상이어야 합니다.");
+        }
+
+        Set<String> arrAps = new LinkedHashSet<>();
+        for (String arrAp : request.arrAps()) {
+            if (arrAp != null && !arrAp.isBlank()) {
+                arrAps.add(arrAp.trim().toUpperCase());
+            }
+        }
+        if (arrAps.size() > maxDestinations) {
+            throw new BadRequestException("도착 공항은 최대 " + maxDestinations + "개까지 선택할 수 있습니다.");
+        }
+        for (String arrAp : arrAps) {
+            if (!airportRepository.existsById(arrAp)) {
+                throw new BadRequestException("지원하지 않는 공항입니다: " + arrAp);
+            }
+        }
+
+        int flexDays = request.flexDays() == null ? 0 : request.flexDays();
+        if (flexDays < 0 || flexDays > maxFlexDays) {
+            throw new BadRequestException("날짜 범위는 0~" + maxFlexDays + "일 사이여야 합니다.");
+        }
+
+        LocalDate depDate = parseDate(request.depDate());
+        LocalDate retDate = parseDate(request.retDate());
+        if (retDate.isBefore(depDate)) {
+            throw new BadRequestException("귀국일은 출발일 이후여야 합니다.");
+        }
+        long tripDays = ChronoUnit.DAYS.between(depDate, retDate);
+        LocalDate today = LocalDate.now();
+
+        List<FlightSearchRequest> cells = new ArrayList<>();
+        for (String arrAp : arrAps) {
+            for (int offset = -flexDays; offset <= flexDays; offset++) {
+                LocalDate shiftedDep = depDate.plusDays(offset);
+                if (shiftedDep.isBefore(today)) continue;
+                cells.add(new FlightSearchRequest(
+                        request.depAp(),
+                        arrAp,
+                        shiftedDep.format(DATE_FORMAT),
+                        shiftedDep.plusDays(tripDays).format(DATE_FORMAT),
+                        request.adult()
+                ).normalized());
+            }
+        }
+        if (cells.isEmpty()) {
+            throw new BadRequestException("검색할 수 있는 날짜가 없습니다.");
+        }
+        return cells;
+    }
+
+    /**
+     * {@link #stream} 을 별도 스레드에서 실행한다. (응답 시간은 호출한 쪽의 emitter 타임아웃으로 제한)
+     */
+    public CompletableFuture<Void> streamAsync(List<FlightSearchRequest> cells, Consumer<FareMatrixCell> onCell) {
+        return CompletableFuture.runAsync(() -> stream(cells, onCell), streamExecutor);
+    }
+
+    /**
+     * 캐시에 있는 칸을 먼저 넘기고, 나머지는 크롤링이 끝나는 순서대로 넘긴다. onCell 은 호출한 스레드에서만 불린다.
+     * 캐시에 없는 칸이 max-crawl-cells 를 넘으면 넘는 칸은 검색하지 않고 pending 으로 넘긴다.
+     * onCell 이 실패하면(클라이언트 연결 끊김) 아직 시작하지 않은 칸은 취소한다. 이미 시작한 크롤링은 끝까지 돌아 캐시에 남는다.
+     */
+    public void stream(List<FlightSearchRequest> cells, Consumer<FareMatrixCell> onCell) {
+        CompletionService<FareMatrixCell> completion = new ExecutorCompletionService<>(executor);
+        List<Future<FareMatrixCell>> pending = new ArrayList<>();
+
+        try {
+            for (FlightSearchRequest cell : cells) {
+                Optional<List<FlightData>> cached = flightSearchCache.getIfPresent(cell);
+                if (cached.isPresent()) {
+                    onCell.accept(toCell(cell, cached.get(), true));
+                } else if (pending.size() < maxCrawlCells) {
+                    pending.add(completion.submit(() -> searchCell(cell)));
+                } else {
+                    onCell.accept(new FareMatrixCell(cell.arrAp(), cell.depDate(), cell.retDate(), null, 0, false, null, true));
+                }
+            }
+
+            for (int i = 0; i < pending.size(); i++) {
+                onCell.accept(completion.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요금 매트릭스 검색이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            // searchCell 은 예외를 칸의 error 로 바꾸므로 여기까지 오지 않는다.
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private FareMatrixCell searchCell(FlightSearchRequest cell) {
+        try {
+            return toCell(cell, flightSearchCache.searchWithoutRecord(cell), false);
+        } catch (RuntimeException e) {
+            log.warn("요금 매트릭스 검색 실패 ({} -> {}, {}): {}", cell.depAp(), cell.arrAp(), cell.depDate(), e.getMessage());
+            return new FareMatrixCell(cell.arrAp(), cell.depDate(), cell.retDate(), null, 0, false, e.getMessage(), false);
+        }
+    }
+
+    private static FareMatrixCell toCell(FlightSearchRequest cell, List<FlightData> flights, boolean cached) {
+        FlightData cheapest = flights.stream()
+                .filter(flight -> flight.priceKRW() > 0)
+                .min(Comparator.comparingInt(FlightData::priceKRW))
+                .orElse(null);
+        return new FareMatrixCell(cell.arrAp(), cell.depDate(), cell.retDate(), cheapest, flights.size(), cached, null, false);
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date == null ? "" : date.trim(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("날짜 형식이 올바르지 않습니다(yyyyMMdd): " + date);
+        }
+    }
+}
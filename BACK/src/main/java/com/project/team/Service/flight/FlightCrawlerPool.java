@@ -0,0 +1,303 @@
+package com.project.team.Service.flight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.team.Dto.flight.FlightData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 항공편 크롤러 워커 풀.
+ * 검색마다 파이썬 + Chromium 을 새로 띄우는 대신, 브라우저를 켜둔 워커 프로세스를 재사용한다.
+ * - 동시에 실행되는 검색 수는 pool-size 로 제한
+ * - 워커는 max-jobs-per-worker 건 처리 후 재생성 (브라우저 메모리 누수 방지)
+ * - 작업 하나가 job-timeout 을 넘기면 해당 워커를 강제 종료
+ * - 주기적으로 놀고 있는 워커에 ping 을 보내 죽은 워커를 교체
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flight.providers.naver.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightCrawlerPool {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${python-path}")
+    private String pythonExecutable;
+
+    @Value("${flight.crawler.pool-size:2}")
+    private int poolSize;
+
+    @Value("${flight.crawler.max-jobs-per-worker:50}")
+    private int maxJobsPerWorker;
+
+    @Value("${flight.crawler.job-timeout-seconds:90}")
+    private long jobTimeoutSeconds;
+
+    @Value("${flight.crawler.startup-timeout-seconds:30}")
+    private long startupTimeoutSeconds;
+
+    @Value("${flight.crawler.ping-timeout-seconds:5}")
+    private long pingTimeoutSeconds;
+
+    private String scriptPath;
+    private Semaphore permits;
+    private BlockingQueue<FlightCrawlerWorker> idleWorkers;
+    private final AtomicInteger workerSequence = new AtomicInteger();
+    // 종료 시 정리하기 위해 살아있는 모든 워커(대기 + 작업 중)를 추적
+    private final Set<FlightCrawlerWorker> liveWorkers = ConcurrentHashMap.newKeySet();
+
+    // 워커와의 블로킹 입출력을 타임아웃과 함께 돌리기 위한 스레드
+    private final ExecutorService ioExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "flight-crawler-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() throws IOException {
+        // 스크립트는 서버 시작 시 한 번만 임시 파일로 복사한다.
+        this.scriptPath = copyScriptFromResources("scripts/flight.py");
+        this.permits = new Semaphore(poolSize, true);
+        this.idleWorkers = new LinkedBlockingQueue<>(poolSize);
+
+        // 첫 검색이 콜드 스타트가 되지 않도록 백그라운드에서 미리 워커를 띄워둔다.
+        for (int i = 0; i < poolSize; i++) {
+            ioExecutor.execute(this::spawnIdleWorker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        liveWorkers.forEach(this::discard);
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * 워커 하나를 빌려 검색을 실행하고 결과를 돌려준다.
+     */
+    public List<FlightData> search(String departureAp, String arrivalAp, String departDate, String returnDate, int adultCount) {
+        List<FlightData> flights = new ArrayList<>();
+        stream(departureAp, arrivalAp, departDate, returnDate, adultCount, flights::add);
+        return flights;
+    }
+
+    /**
+     * 워커 하나를 빌려 검색을 실행하고, 항공편을 파싱되는 대로 onFlight 에 넘긴다. (반환값은 항공편 수)
+     * onFlight 가 실패하면(예: 클라이언트 연결 끊김) 이후 항공편은 버리고 워커는 작업 끝까지 읽어 재사용한다.
+     */
+    public int stream(String departureAp, String arrivalAp, String departDate, String returnDate, int adultCount,
+                      Consumer<FlightData> onFlight) {
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("type", "search");
+        job.put("id", UUID.randomUUID().toString());
+        job.put("depAp", departureAp);
+        job.put("arrAp", arrivalAp);
+        job.put("depDate", departDate);
+        job.put("retDate", returnDate);
+        job.put("adult", adultCount);
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicReference<RuntimeException> consumerFailure = new AtomicReference<>();
+        FlightCrawlerWorker.Message response = execute(job, jobTimeoutSeconds, flight -> {
+            if (consumerFailure.get() != null) return;
+            try {
+                onFlight.accept(flight);
+                count.incrementAndGet();
+            } catch (RuntimeException e) {
+                consumerFailure.set(e);
+            }
+        });
+        if (consumerFailure.get() != null) {
+            throw consumerFailure.get();
+        }
+        if (response.is("error")) {
+            throw new RuntimeException("Python crawler failed. Error: " + response.message());
+        }
+        return count.get();
+    }
+
+    private FlightCrawlerWorker.Message execute(Map<String, Object> job, long timeoutSeconds, Consumer<FlightData> onFlight) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("항공편 검색이 중단되었습니다.", e);
+        }
+        if (!acquired) {
+            throw new RuntimeException("항공편 검색 요청이 많아 잠시 후 다시 시도해주세요.");
+        }
+
+        FlightCrawlerWorker worker = null;
+        boolean healthy = false;
+        try {
+            worker = takeWorker();
+            FlightCrawlerWorker.Message response = exchangeWithTimeout(worker, job, timeoutSeconds, onFlight);
+            healthy = true;
+            return response;
+        } catch (IOException e) {
+            throw new RuntimeException("Error executing Python crawler worker", e);
+        } finally {
+            releaseWorker(worker, healthy);
+            permits.release();
+        }
+    }
+
+    private FlightCrawlerWorker.Message exchangeWithTimeout(FlightCrawlerWorker worker, Map<String, Object> job, long timeoutSeconds,
+                                                            Consumer<FlightData> onFlight) throws IOException {
+        Future<FlightCrawlerWorker.Message> future = ioExecutor.submit(() -> worker.exchange(job, onFlight));
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // 응답이 없는 워커는 죽여서 블로킹된 readLine 을 풀어준다.
+            discard(worker);
+            future.cancel(true);
+            throw new IOException("크롤러 작업 시간(" + timeoutSeconds + "초)을 초과했습니다.", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(worker);
+            throw new IOException("크롤러 작업이 중단되었습니다.", e);
+        }
+    }
+
+    private FlightCrawlerWorker takeWorker() throws IOException {
+        FlightCrawlerWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            if (worker.isAlive()) return worker;
+            discard(worker);
+        }
+        return startWorker();
+    }
+
+    private void releaseWorker(FlightCrawlerWorker worker, boolean healthy) {
+        if (worker == null) return;
+        boolean recycle = !healthy || !worker.isAlive() || worker.getCompletedJobs() >= maxJobsPerWorker;
+        if (recycle) {
+            discard(worker);
+            // 재활용 대상은 미리 새 워커로 채워둔다.
+            ioExecutor.execute(this::spawnIdleWorker);
+            return;
+        }
+        if (!idleWorkers.offer(worker)) {
+            discard(worker);
+        }
+    }
+
+    private void discard(FlightCrawlerWorker worker) {
+        worker.destroy();
+        liveWorkers.remove(worker);
+    }
+
+    private FlightCrawlerWorker startWorker() throws IOException {
+        String name = "flight-crawler-" + workerSequence.incrementAndGet();
+        FlightCrawlerWorker worker = FlightCrawlerWorker.start(objectMapper, pythonExecutable, scriptPath, name);
+        liveWorkers.add(worker);
+        Future<?> ready = ioExecutor.submit(() -> {
+            worker.awaitReady();
+            return null;
+        });
+        try {
+            ready.get(startupTimeoutSeconds, TimeUnit.SECONDS);
+            log.info("항공편 크롤러 워커 시작: {}", name);
+            return worker;
+        } catch (TimeoutException | ExecutionException e) {
+            discard(worker);
+            throw new IOException("크롤러 워커를 시작하지 못했습니다: " + name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(worker);
+            throw new IOException("크롤러 워커 시작이 중단되었습니다: " + name, e);
+        }
+    }
+
+    private void spawnIdleWorker() {
+        if (idleWorkers.remainingCapacity() == 0) return;
+        try {
+            FlightCrawlerWorker worker = startWorker();
+            if (!idleWorkers.offer(worker)) {
+                discard(worker);
+            }
+        } catch (IOException e) {
+            log.warn("예비 크롤러 워커 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 1분마다 놀고 있는 워커에 ping 을 보내 응답이 없는 워커를 교체한다.
+     * 검색 중인 워커는 건드리지 않도록 남는 자리(permit)가 있을 때만 검사한다.
+     */
+    @Scheduled(fixedDelayString = "${flight.crawler.health-check-interval-ms:60000}")
+    public void checkIdleWorkers() {
+        List<FlightCrawlerWorker> checked = new ArrayList<>();
+        FlightCrawlerWorker worker;
+        while (permits.tryAcquire()) {
+            worker = idleWorkers.poll();
+            if (worker == null) {
+                permits.release();
+                break;
+            }
+            boolean healthy = false;
+            try {
+                Map<String, Object> ping = new LinkedHashMap<>();
+                ping.put("type", "ping");
+                ping.put("id", UUID.randomUUID().toString());
+                healthy = worker.isAlive()
+                        && exchangeWithTimeout(worker, ping, pingTimeoutSeconds, flight -> { }).is("pong");
+            } catch (IOException e) {
+                log.warn("크롤러 워커 health check 실패: {}", e.getMessage());
+            }
+            if (healthy) {
+                checked.add(worker);
+            } else {
+                releaseWorker(worker, false);
+            }
+            permits.release();
+        }
+        checked.forEach(w -> {
+            if (!idleWorkers.offer(w)) discard(w);
+        });
+    }
+
+    private String copyScriptFromResources(String resourceName) throws IOException {
+        // 스크립트를 실행할 수 있도록 임시 파일로 복사합니다.
+        File tempFile = File.createTempFile("flight_script", ".py");
+        tempFile.deleteOnExit(); // 프로그램 종료 시 임시 파일 자동 삭제
+
+        try (InputStream inputStream = new ClassPathResource(resourceName).getInputStream();
+             FileOutputStream out = new FileOutputStream(tempFile)) {
+            inputStream.transferTo(out);
+        }
+        return tempFile.getAbsolutePath();
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.team.Service.flight;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.team.Dto.flight.FlightData;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * flight.py --worker 로 띄운 상주 파이썬 프로세스 하나를 감싼 클래스.
+ * stdin/stdout 으로 한 줄에 JSON 하나씩 주고받으며, stderr 는 별도 스레드가 계속 비워준다.
+ * (stderr 파이프가 가득 차면 파이썬 쪽 write 가 막혀 워커 전체가 멈추기 때문)
+ * 검색 결과는 항공편 한 건마다 한 줄로 오므로, 줄이 도착하는 즉시 토큰 파서로 FlightData 를 만들어 넘긴다.
+ */
+@Slf4j
+class FlightCrawlerWorker {
+
+    private final ObjectMapper objectMapper;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final BufferedReader stdout;
+
+    // 이 워커가 처리한 검색 작업 수 (N회 이후 재생성)
+    @Getter
+    private int completedJobs;
+
+    /**
+     * 워커가 보낸 메시지 한 줄. type 이 flight 이면 flight 에, error 이면 message 에 값이 있다.
+     */
+    record Message(String type, String id, String message, FlightData flight) {
+        boolean is(String expectedType) {
+            return expectedType.equals(type);
+        }
+    }
+
+    private FlightCrawlerWorker(ObjectMapper objectMapper, Process process, String name) {
+        this.objectMapper = objectMapper;
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+
+        Thread drainer = new Thread(() -> drainStderr(process, name), name + "-stderr");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 워커 프로세스를 띄운다. 브라우저 준비 완료(ready) 메시지는 {@link #awaitReady()} 로 기다린다.
+     */
+    static FlightCrawlerWorker start(ObjectMapper objectMapper, String pythonExecutable, String scriptPath, String name) throws IOException {
+        Process process = new ProcessBuilder(pythonExecutable, "-X", "utf8", scriptPath, "--worker").start();
+        return new FlightCrawlerWorker(objectMapper, process, name);
+    }
+
+    /**
+     * 브라우저가 뜨고 ready 메시지가 올 때까지 블로킹한다.
+     */
+    void awaitReady() throws IOException {
+        Message message = readMessage();
+        if (!message.is("ready")) {
+            throw new IOException("워커 초기화 응답이 올바르지 않습니다: " + message);
+        }
+    }
+
+    /**
+     * 작업 하나를 보내고 같은 id 의 마지막 응답(done/error/pong)을 받을 때까지 블로킹한다.
+     * 그 사이에 오는 항공편(flight) 메시지는 도착하는 대로 onFlight 로 넘긴다.
+     * 타임아웃은 호출하는 쪽(FlightCrawlerPool)이 걸고, 시간 초과 시 {@link #destroy()} 로 읽기를 끊는다.
+     */
+    Message exchange(Map<String, Object> job, Consumer<FlightData> onFlight) throws IOException {
+        String jobId = String.valueOf(job.get("id"));
+        stdin.write(objectMapper.writeValueAsString(job));
+        stdin.newLine();
+        stdin.flush();
+
+        while (true) {
+            Message message = readMessage();
+            if (!jobId.equals(message.id())) {
+                log.debug("다른 작업의 응답을 건너뜁니다: {}", message);
+                continue;
+            }
+            if (message.is("flight")) {
+                onFlight.accept(message.flight());
+                continue;
+            }
+            if (message.is("done")) {
+                completedJobs++;
+            }
+            return message;
+        }
+    }
+
+    private Message readMessage() throws IOException {
+        String line;
+        while ((line = stdout.readLine()) != null) {
+            if (line.isBlank()) continue;
+            try (JsonParser parser = objectMapper.createParser(line)) {
+                return parseMessage(parser);
+            } catch (JsonProcessingException e) {
+                // 파이썬 라이브러리가 stdout 에 찍은 잡음은 무시
+                log.debug("JSON 이 아닌 워커 출력: {}", line);
+            }
+        }
+        throw new IOException("크롤러 워커가 종료되었습니다. (exit code: " + exitCodeOrNull() + ")");
+    }
+
+    /**
+     * 트리(JsonNode)를 거치지 않고 토큰 단위로 읽는다. data 필드만 FlightData 로 바로 바인딩한다.
+     */
+    private static Message parseMessage(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "워커 메시지는 JSON 객체여야 합니다.");
+        }
+        String type = null;
+        String id = null;
+        String message = null;
+        FlightData flight = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> type = parser.getValueAsString();
+                case "id" -> id = parser.getValueAsString();
+                case "message" -> message = parser.getValueAsString();
+                case "data" -> flight = parser.readValueAs(FlightData.class);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Message(type, id, message, flight);
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+        for (AutoCloseable stream : List.<AutoCloseable>of(stdin, stdout)) {
+            try {
+                stream.close();
+            } catch (Exception ignored) {
+                // 이미 닫힌 파이프
+            }
+        }
+    }
+
+    private Integer exitCodeOrNull() {
+        return process.isAlive() ? null : process.exitValue();
+    }
+
+    private static void drainStderr(Process process, String name) {
+        try (BufferedReader errorReader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String errorLine;
+            while ((errorLine = errorReader.readLine()) != null) {
+                log.warn("[{}] {}", name, errorLine);
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료로 파이프가 닫힘
+        }
+    }
+}
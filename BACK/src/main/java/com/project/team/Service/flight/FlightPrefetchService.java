@@ -0,0 +1,138 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Dto.flight.PopularFlightSearch;
+import com.project.team.Entity.Travel;
+import com.project.team.Repository.FlightSearchLogRepository;
+import com.project.team.Repository.TravelRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사람이 적은 새벽 시간대에 인기 노선을 미리 크롤링해 캐시를 채운다.
+ * 대상: 최근 검색 기록 상위 조건 + 출발이 가까운 여행(Travel.departure → countryCode)의 날짜/인원.
+ * 크롤링은 별도 스레드에서 한 건씩 돌려서 다른 @Scheduled 작업과 낮 시간 검색을 막지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightPrefetchService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchLogRepository flightSearchLogRepository;
+    private final TravelRepository travelRepository;
+
+    @Value("${flight.prefetch.max-searches:30}")
+    private int maxSearches;
+
+    @Value("${flight.prefetch.max-travels:30}")
+    private int maxTravels;
+
+    @Value("${flight.prefetch.lookback-days:7}")
+    private long lookbackDays;
+
+    @Value("${flight.prefetch.travel-horizon-days:60}")
+    private long travelHorizonDays;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flight-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 매일 새벽 4시 30분에 미리 검색을 시작한다. 이전 실행이 아직 끝나지 않았으면 건너뛴다.
+     */
+    @Scheduled(cron = "${flight.prefetch.cron:0 30 4 * * *}")
+    public void schedulePrefetch() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("항공권 미리 검색이 아직 진행 중이라 건너뜁니다.");
+            return;
+        }
+        List<FlightSearchRequest> targets;
+        try {
+            targets = selectTargets();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        executor.execute(() -> {
+            try {
+                prefetch(targets);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private List<FlightSearchRequest> selectTargets() {
+        LocalDate today = LocalDate.now();
+        Set<FlightSearchRequest> targets = new LinkedHashSet<>();
+
+        List<PopularFlightSearch> popular = flightSearchLogRepository.findPopularSearches(
+                LocalDateTime.now().minusDays(lookbackDays), today, PageRequest.of(0, maxSearches));
+        for (PopularFlightSearch search : popular) {
+            targets.add(new FlightSearchRequest(
+                    search.depAp(),
+                    search.arrAp(),
+                    search.depDate().format(DATE_FORMAT),
+                    search.retDate().format(DATE_FORMAT),
+                    search.adult()
+            ).normalized());
+        }
+
+        int travels = 0;
+        for (Travel travel : travelRepository.findByStartDateBetween(today, today.plusDays(travelHorizonDays))) {
+            if (travels >= maxTravels) break;
+            if (travel.getDeparture() == null || travel.getCountryCode() == null || travel.getEndDate() == null) continue;
+            travels++;
+            targets.add(new FlightSearchRequest(
+                    travel.getDeparture(),
+                    travel.getCountryCode(),
+                    travel.getStartDate().format(DATE_FORMAT),
+                    travel.getEndDate().format(DATE_FORMAT),
+                    travel.getTravelerCount() == null ? 1 : travel.getTravelerCount()
+            ).normalized());
+        }
+        return new ArrayList<>(targets);
+    }
+
+    private void prefetch(List<FlightSearchRequest> targets) {
+        log.info("항공권 미리 검색 시작: {}건", targets.size());
+        int failed = 0;
+        for (FlightSearchRequest target : targets) {
+            if (Thread.currentThread().isInterrupted()) return;
+            try {
+                flightSearchCache.searchInBackground(target);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("항공권 미리 검색 실패 ({} -> {}, {}): {}", target.depAp(), target.arrAp(), target.depDate(), e.getMessage());
+            }
+        }
+        log.info("항공권 미리 검색 완료: {}건 중 {}건 실패", targets.size(), failed);
+    }
+}
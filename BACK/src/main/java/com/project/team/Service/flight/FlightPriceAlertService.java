@@ -0,0 +1,165 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Entity.Notification;
+import com.project.team.Entity.Travel;
+import com.project.team.Entity.TravelPermission;
+import com.project.team.Entity.User;
+import com.project.team.Entity.flight.Flight;
+import com.project.team.Repository.FlightRepository;
+import com.project.team.Repository.NotificationRepository;
+import com.project.team.Repository.TravelPermissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * 여행에 저장한 항공편의 가격 하락 알림.
+ * 저장된 항공편을 (출발지, 도착지, 출발일, 귀국일, 인원) 이 같은 것끼리 묶어 여정마다 한 번만 크롤링하고,
+ * 같은 항공편(항공사 + 왕복 시각)의 현재 최저가가 기준 가격보다 충분히 내려갔으면 여행 소유자/멤버에게 알림을 만든다.
+ * 크롤링은 트랜잭션 밖에서 하고, 알림 저장과 기준 가격 갱신만 마지막에 한 트랜잭션으로 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightPriceAlertService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final FlightRepository flightRepository;
+    private final TravelPermissionRepository travelPermissionRepository;
+    private final NotificationRepository notificationRepository;
+    private final FlightSearchCache flightSearchCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flight.alert.min-drop-krw:5000}")
+    private int minDropKRW;
+
+    // 조회 시점의 저장 항공편 정보 (트랜잭션 밖에서 쓰기 위해 값만 복사)
+    private record SavedFlight(Long flightId, String airline, String departureTime, String arrivalTime,
+                               String returnDepartureTime, String returnArrivalTime, int baselinePriceKRW) {
+        boolean matches(FlightData data) {
+            return Objects.equals(airline, data.airline())
+                    && Objects.equals(departureTime, data.departureTime())
+                    && Objects.equals(arrivalTime, data.arrivalTime())
+                    && Objects.equals(returnDepartureTime, data.returnDepartureTime())
+                    && Objects.equals(returnArrivalTime, data.returnArrivalTime());
+        }
+    }
+
+    /**
+     * 매일 아침 6시(새벽 미리 검색 이후)에 가격을 확인한다.
+     */
+    @Scheduled(cron = "${flight.alert.cron:0 0 6 * * *}")
+    public void checkPriceDrops() {
+        Map<FlightSearchRequest, List<SavedFlight>> itineraries = loadItineraries();
+        log.info("항공권 가격 알림 확인 시작: 저장 항공편 {}건, 여정 {}건",
+                itineraries.values().stream().mapToInt(List::size).sum(), itineraries.size());
+
+        Map<Long, Integer> droppedPrices = new HashMap<>();
+        for (Map.Entry<FlightSearchRequest, List<SavedFlight>> itinerary : itineraries.entrySet()) {
+            List<FlightData> flights;
+            try {
+                flights = flightSearchCache.searchInBackground(itinerary.getKey());
+            } catch (RuntimeException e) {
+                log.warn("가격 알림용 검색 실패 ({} -> {}, {}): {}", itinerary.getKey().depAp(),
+                        itinerary.getKey().arrAp(), itinerary.getKey().depDate(), e.getMessage());
+                continue;
+            }
+            for (SavedFlight saved : itinerary.getValue()) {
+                OptionalInt current = flights.stream()
+                        .filter(saved::matches)
+                        .mapToInt(FlightData::priceKRW)
+                        .filter(price -> price > 0)
+                        .min();
+                if (current.isPresent() && saved.baselinePriceKRW() - current.getAsInt() >= minDropKRW) {
+                    droppedPrices.put(saved.flightId(), current.getAsInt());
+                }
+            }
+        }
+
+        if (droppedPrices.isEmpty()) return;
+        Integer created = transactionTemplate.execute(status -> notifyPriceDrops(droppedPrices));
+        log.info("항공권 가격 하락 알림 {}건 생성 (항공편 {}건)", created, droppedPrices.size());
+    }
+
+    private Map<FlightSearchRequest, List<SavedFlight>> loadItineraries() {
+        List<Flight> flights = transactionTemplate.execute(status ->
+                flightRepository.findUpcomingWithTravel(LocalDate.now()));
+
+        Map<FlightSearchRequest, List<SavedFlight>> itineraries = new LinkedHashMap<>();
+        for (Flight flight : flights == null ? List.<Flight>of() : flights) {
+            Travel travel = flight.getTravel();
+            if (travel.getDeparture() == null || travel.getCountryCode() == null || travel.getEndDate() == null) continue;
+            FlightSearchRequest request = new FlightSearchRequest(
+                    travel.getDeparture(),
+                    travel.getCountryCode(),
+                    travel.getStartDate().format(DATE_FORMAT),
+                    travel.getEndDate().format(DATE_FORMAT),
+                    travel.getTravelerCount() == null ? 1 : travel.getTravelerCount()
+            ).normalized();
+            int baseline = flight.getLastNotifiedPriceKRW() != null ? flight.getLastNotifiedPriceKRW() : flight.getPriceKRW();
+            itineraries.computeIfAbsent(request, k -> new ArrayList<>()).add(new SavedFlight(
+                    flight.getId(),
+                    flight.getAirline(),
+                    flight.getDepartureTime(),
+                    flight.getArrivalTime(),
+                    flight.getReturnDepartureTime(),
+                    flight.getReturnArrivalTime(),
+                    baseline
+            ));
+        }
+        return itineraries;
+    }
+
+    /**
+     * 가격이 내려간 항공편의 여행 소유자와 멤버에게 알림을 만들고 기준 가격을 갱신한다. 생성한 알림 수를 반환한다.
+     */
+    private int notifyPriceDrops(Map<Long, Integer> droppedPrices) {
+        List<Flight> flights = flightRepository.findWithTravelByIdIn(droppedPrices.keySet());
+
+        Map<Long, List<User>> membersByTravel = new HashMap<>();
+        List<Long> travelIds = flights.stream().map(flight -> flight.getTravel().getId()).toList();
+        for (TravelPermission permission : travelPermissionRepository.findWithUserByTravelIdIn(travelIds)) {
+            membersByTravel.computeIfAbsent(permission.getTravel().getId(), k -> new ArrayList<>()).add(permission.getUser());
+        }
+
+        List<Notification> notifications = new ArrayList<>();
+        for (Flight flight : flights) {
+            Travel travel = flight.getTravel();
+            int previous = flight.getLastNotifiedPriceKRW() != null ? flight.getLastNotifiedPriceKRW() : flight.getPriceKRW();
+            int current = droppedPrices.get(flight.getId());
+            String content = String.format("[%s] 저장한 %s 항공편 가격이 %,d원에서 %,d원으로 내려갔습니다.",
+                    travel.getTitle(), flight.getAirline(), previous, current);
+            String relatedUrl = "/travels/" + travel.getId() + "/flight";
+
+            List<User> recipients = new ArrayList<>();
+            recipients.add(travel.getUser());
+            recipients.addAll(membersByTravel.getOrDefault(travel.getId(), List.of()));
+            for (User recipient : recipients) {
+                notifications.add(Notification.builder()
+                        .user(recipient)
+                        .content(content)
+                        .relatedUrl(relatedUrl)
+                        .build());
+            }
+            flight.setLastNotifiedPriceKRW(current);
+        }
+        notificationRepository.saveAll(notifications);
+        return notifications.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightPriceTrendPoint;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Entity.flight.FlightPriceHistory;
+import com.project.team.Entity.flight.FlightSearchLog;
+import com.project.team.Exception.BadRequestException;
+import com.project.team.Repository.FlightPriceHistoryRepository;
+import com.project.team.Repository.FlightSearchLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 항공권 가격 기록과 검색 기록을 관리한다.
+ * - 크롤링할 때마다 노선/날짜별 최저가와 중앙값을 한 행으로 남긴다.
+ * - 검색 기록은 요청마다 INSERT 하지 않고 모아두었다가 1분마다 한 번에 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightPriceHistoryService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final FlightPriceHistoryRepository flightPriceHistoryRepository;
+    private final FlightSearchLogRepository flightSearchLogRepository;
+
+    @Value("${flight.search-log.retention-days:30}")
+    private long searchLogRetentionDays;
+
+    private final Queue<FlightSearchLog> pendingSearchLogs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 크롤링 결과를 요약해 저장한다. 가격을 읽은 항공편이 없으면 저장하지 않는다.
+     */
+    @Transactional
+    public void recordCrawl(FlightSearchRequest request, List<FlightData> flights) {
+        int[] prices = flights.stream()
+                .mapToInt(FlightData::priceKRW)
+                .filter(price -> price > 0)
+                .sorted()
+                .toArray();
+        if (prices.length == 0) return;
+
+        LocalDate depDate = parseDateOrNull(request.depDate());
+        LocalDate retDate = parseDateOrNull(request.retDate());
+        if (depDate == null || retDate == null) return;
+
+        flightPriceHistoryRepository.save(new FlightPriceHistory(
+                request.depAp(),
+                request.arrAp(),
+                depDate,
+                retDate,
+                request.adult(),
+                prices[0],
+                median(prices),
+                prices.length,
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * 사용자 검색을 기록한다. (실제 저장은 {@link #flushSearchLogs()} 에서)
+     */
+    public void recordSearch(FlightSearchRequest request) {
+        LocalDate depDate = parseDateOrNull(request.depDate());
+        LocalDate retDate = parseDateOrNull(request.retDate());
+        if (depDate == null || retDate == null || request.depAp() == null || request.arrAp() == null) return;
+        pendingSearchLogs.add(new FlightSearchLog(
+                request.depAp(), request.arrAp(), depDate, retDate, request.adult(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    @Transactional
+    public void flushSearchLogs() {
+        List<FlightSearchLog> batch = new ArrayList<>();
+        FlightSearchLog searchLog;
+        while ((searchLog = pendingSearchLogs.poll()) != null) {
+            batch.add(searchLog);
+        }
+        if (!batch.isEmpty()) {
+            flightSearchLogRepository.saveAll(batch);
+        }
+    }
+
+    /**
+     * 매일 새벽 3시에 오래된 검색 기록과 이미 지난 날짜의 가격 기록을 정리한다.
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    @Transactional
+    public void cleanup() {
+        int logs = flightSearchLogRepository.deleteBySearchedAtBefore(LocalDateTime.now().minusDays(searchLogRetentionDays));
+        int histories = flightPriceHistoryRepository.deleteByDepDateBefore(LocalDate.now());
+        log.info("항공권 기록 정리: 검색 기록 {}건, 가격 기록 {}건 삭제", logs, histories);
+    }
+
+    /**
+     * 노선의 출발일 구간(from~to) 가격 추이를 출발일/귀국일별로 묶어 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightPriceTrendPoint> getTrend(String depAp, String arrAp, String from, String to, int adult) {
+        if (depAp == null || depAp.isBlank() || arrAp == null || arrAp.isBlank()) {
+            throw new BadRequestException("출발/도착 공항을 입력해주세요.");
+        }
+        LocalDate fromDate = from == null ? LocalDate.now() : parseDate(from);
+        LocalDate toDate = to == null ? fromDate.plusDays(90) : parseDate(to);
+        if (toDate.isBefore(fromDate)) {
+            throw new BadRequestException("조회 종료일은 시작일 이후여야 합니다.");
+        }
+
+        List<FlightPriceHistory> histories = flightPriceHistoryRepository
+                .findByDepApAndArrApAndAdultAndDepDateBetweenOrderByDepDateAscCrawledAtAsc(
+                        depAp.trim().toUpperCase(), arrAp.trim().toUpperCase(), adult, fromDate, toDate);
+
+        // 크롤링 시각 오름차순이므로 마지막 값이 최신 값
+        Map<String, List<FlightPriceHistory>> byTrip = new LinkedHashMap<>();
+        for (FlightPriceHistory history : histories) {
+            byTrip.computeIfAbsent(history.getDepDate() + "/" + history.getRetDate(), k -> new ArrayList<>()).add(history);
+        }
+
+        List<FlightPriceTrendPoint> trend = new ArrayList<>();
+        for (List<FlightPriceHistory> samples : byTrip.values()) {
+            FlightPriceHistory latest = samples.get(samples.size() - 1);
+            int lowest = samples.stream().mapToInt(FlightPriceHistory::getMinPriceKRW).min().orElse(latest.getMinPriceKRW());
+            trend.add(new FlightPriceTrendPoint(
+                    latest.getDepDate(),
+                    latest.getRetDate(),
+                    latest.getMinPriceKRW(),
+                    latest.getMedianPriceKRW(),
+                    lowest,
+                    samples.size(),
+                    latest.getCrawledAt()
+            ));
+        }
+        return trend;
+    }
+
+    private static int median(int[] sortedPrices) {
+        int middle = sortedPrices.length / 2;
+        if (sortedPrices.length % 2 == 1) {
+            return sortedPrices[middle];
+        }
+        return (int) (((long) sortedPrices[middle - 1] + sortedPrices[middle]) / 2);
+    }
+
+    private static LocalDate parseDate(String date) {
+        LocalDate parsed = parseDateOrNull(date);
+        if (parsed == null) {
+            throw new BadRequestException("날짜 형식이 올바르지 않습니다(yyyyMMdd): " + date);
+        }
+        return parsed;
+    }
+
+    private static LocalDate parseDateOrNull(String date) {
+        if (date == null) return null;
+        try {
+            return LocalDate.parse(date.trim(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 등록된 모든 {@link FlightSearchProvider} 를 병렬로 조회해 결과를 합친다.
+ * - hedge 는 공급자별로 켠다. (flight.providers.{name}.hedge=true, 기본 꺼짐)
+ *   켜진 공급자는 최근 성공한 검색 시간의 p95 를 넘도록 끝나지 않으면 한 번 더 호출하고, 먼저 성공한 쪽을 쓰고 나머지는 취소한다.
+ *   표본이 min-samples 보다 적으면 hedge 하지 않는다.
+ * - 같은 항공편(항공사 + 왕복 시각)은 공급자가 달라도 하나로 합치고 가장 싼 가격을 남긴다.
+ * - onFlight 는 stream 을 호출한 스레드에서만 부른다. (느린 클라이언트가 공급자 스레드를 붙잡지 않음)
+ * - 공급자가 하나뿐이고 hedge 가 꺼져 있으면 스레드를 거치지 않고 그대로 호출한다.
+ */
+@Slf4j
+@Component
+public class FlightSearchAggregator {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final List<FlightSearchProvider> providers;
+    private final Map<String, Boolean> hedgeEnabled = new LinkedHashMap<>();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    @Value("${flight.providers.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${flight.providers.hedge.window:100}")
+    private int latencyWindowSize;
+
+    @Value("${flight.providers.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "flight-provider");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FlightSearchAggregator(List<FlightSearchProvider> providers, Environment environment) {
+        if (providers.isEmpty()) {
+            throw new IllegalStateException("항공편 검색 공급자가 하나도 등록되지 않았습니다. (flight.providers.*.enabled)");
+        }
+        this.providers = providers;
+        for (FlightSearchProvider provider : providers) {
+            hedgeEnabled.put(provider.name(),
+                    environment.getProperty("flight.providers." + provider.name() + ".hedge", Boolean.class, false));
+        }
+        log.info("항공편 검색 공급자: {} (hedge: {})", providers.stream().map(FlightSearchProvider::name).toList(), hedgeEnabled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<FlightData> search(FlightSearchRequest request) {
+        if (isDirect()) {
+            return providers.get(0).search(request);
+        }
+        return stream(request, flight -> { });
+    }
+
+    /**
+     * 항공편을 찾는 대로 onFlight 로 넘기고, 합친 최종 결과를 반환한다.
+     * 여러 공급자를 쓸 때는 이미 넘긴 항공편이 다른 공급자에서 더 싸게 나오면 같은 항공편을 새 가격으로 한 번 더 넘긴다.
+     * onFlight 는 이 메서드를 호출한 스레드에서만 호출된다. onFlight 가 실패하면 진행 중인 검색을 모두 취소한다.
+     */
+    public List<FlightData> stream(FlightSearchRequest request, Consumer<FlightData> onFlight) {
+        if (isDirect()) {
+            List<FlightData> flights = new ArrayList<>();
+            providers.get(0).stream(request, flight -> {
+                flights.add(flight);
+                onFlight.accept(flight);
+            });
+            return flights;
+        }
+
+        FareMerger merger = new FareMerger();
+        List<ProviderCall> calls = providers.stream()
+                .map(provider -> new ProviderCall(provider, request, merger))
+                .toList();
+        calls.forEach(ProviderCall::start);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        try {
+            while (!calls.stream().allMatch(call -> call.result.isDone())) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) break;
+                FlightData flight = merger.poll(Math.min(remainingMillis, POLL_MILLIS));
+                if (flight != null) onFlight.accept(flight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            calls.forEach(ProviderCall::cancel);
+            merger.close();
+            throw new RuntimeException("항공편 검색이 중단되었습니다.", e);
+        } catch (RuntimeException e) {
+            calls.forEach(ProviderCall::cancel);
+            merger.close();
+            throw e;
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        for (ProviderCall call : calls) {
+            if (!call.result.isDone()) {
+                call.cancel();
+                failures.add(new RuntimeException("검색 시간 초과"));
+                log.warn("항공편 공급자 [{}] 검색 시간({}초) 초과", call.provider.name(), timeoutSeconds);
+            } else if (call.result.isCompletedExceptionally()) {
+                Throwable cause = causeOf(call.result);
+                failures.add(cause);
+                log.warn("항공편 공급자 [{}] 검색 실패: {}", call.provider.name(), cause.getMessage());
+            }
+        }
+        List<FlightData> merged = merger.close();
+        // close 전에 합쳐졌지만 아직 넘기지 못한 항공편
+        for (FlightData flight = merger.poll(); flight != null; flight = merger.poll()) {
+            onFlight.accept(flight);
+        }
+
+        // 모든 공급자가 실패했을 때만 실패로 본다.
+        if (failures.size() == calls.size()) {
+            Throwable first = failures.get(0);
+            throw first instanceof RuntimeException runtime ? runtime : new RuntimeException(first);
+        }
+        return merged;
+    }
+
+    private boolean isDirect() {
+        return providers.size() == 1 && !hedgeEnabled.get(providers.get(0).name());
+    }
+
+    /**
+     * hedge 를 시작할 대기 시간. hedge 가 꺼져 있거나 표본이 부족하면 -1
+     */
+    private long hedgeDelayMillis(FlightSearchProvider provider) {
+        if (!hedgeEnabled.get(provider.name())) return -1;
+        LatencyWindow window = latencies.get(provider.name());
+        return window == null ? -1 : window.percentile(0.95, hedgeMinSamples);
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    /**
+     * 공급자 한 곳에 대한 호출 (첫 시도 + hedge 한 번).
+     * 한 시도가 성공하면 나머지 시도는 취소(인터럽트)한다. 크롤러 워커는 인터럽트되면 브라우저를 종료하고 자리를 반납한다.
+     * 모든 시도가 실패해야 실패다.
+     */
+    private class ProviderCall {
+        private final FlightSearchProvider provider;
+        private final FlightSearchRequest request;
+        private final FareMerger merger;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final List<FutureTask<Void>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger running = new AtomicInteger();
+
+        ProviderCall(FlightSearchProvider provider, FlightSearchRequest request, FareMerger merger) {
+            this.provider = provider;
+            this.request = request;
+            this.merger = merger;
+        }
+
+        void start() {
+            attempt();
+            long hedgeAfter = hedgeDelayMillis(provider);
+            if (hedgeAfter > 0) {
+                CompletableFuture.delayedExecutor(hedgeAfter, TimeUnit.MILLISECONDS, executor).execute(() -> {
+                    if (result.isDone()) return;
+                    log.info("항공편 공급자 [{}] 응답이 p95({}ms)를 넘어 한 번 더 호출합니다.", provider.name(), hedgeAfter);
+                    attempt();
+                });
+            }
+        }
+
+        void cancel() {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void attempt() {
+            running.incrementAndGet();
+            long startedAt = System.nanoTime();
+            FutureTask<Void>[] self = new FutureTask[1];
+            self[0] = new FutureTask<>(() -> {
+                try {
+                    provider.stream(request, merger::offer);
+                } catch (RuntimeException e) {
+                    if (running.decrementAndGet() == 0) result.completeExceptionally(e);
+                    return;
+                }
+                if (result.complete(null)) {
+                    latencies.computeIfAbsent(provider.name(), name -> new LatencyWindow(latencyWindowSize))
+                            .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    // 늦은 쪽은 결과를 기다리지 않고 취소한다. (크롤러 자리와 브라우저를 바로 돌려받음)
+                    attempts.stream().filter(attempt -> attempt != self[0]).forEach(attempt -> attempt.cancel(true));
+                }
+            }, null);
+            attempts.add(self[0]);
+            executor.execute(self[0]);
+            if (result.isDone()) {
+                self[0].cancel(true); // 시작하는 사이에 다른 시도가 끝난 경우
+            }
+        }
+    }
+
+    /**
+     * 최근 성공한 검색 시간(ms)을 size 개까지 보관한다.
+     */
+    private static class LatencyWindow {
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < Math.max(1, minSamples)) return -1;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * 공급자들의 결과를 항공편 단위로 합친다. 새로 들어왔거나 더 싸진 항공편은 큐에 넣고, 호출한 스레드가 꺼내서 넘긴다.
+     * close 이후에 들어온 결과(취소되기 전의 늦은 시도 등)는 버린다.
+     */
+    private static class FareMerger {
+        private final Map<String, FlightData> cheapestByFlight = new LinkedHashMap<>();
+        private final BlockingQueue<FlightData> pending = new LinkedBlockingQueue<>();
+        private boolean closed;
+
+        synchronized void offer(FlightData flight) {
+            if (closed) return;
+            String key = String.join("|", flight.airline(), flight.departureTime(), flight.arrivalTime(),
+                    flight.returnDepartureTime(), flight.returnArrivalTime());
+            FlightData previous = cheapestByFlight.get(key);
+            if (previous != null && !isCheaper(flight, previous)) return;
+            cheapestByFlight.put(key, flight);
+            pending.add(flight);
+        }
+
+        FlightData poll(long timeoutMillis) throws InterruptedException {
+            return pending.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        FlightData poll() {
+            return pending.poll();
+        }
+
+        synchronized List<FlightData> close() {
+            closed = true;
+            List<FlightData> merged = new ArrayList<>(cheapestByFlight.values());
+            // 가격을 읽지 못한 항공편(0원)은 뒤로
+            merged.sort(Comparator.comparingInt(flight -> flight.priceKRW() > 0 ? flight.priceKRW() : Integer.MAX_VALUE));
+            return merged;
+        }
+
+        private static boolean isCheaper(FlightData candidate, FlightData current) {
+            if (candidate.priceKRW() <= 0) return false;
+            return current.priceKRW() <= 0 || candidate.priceKRW() < current.priceKRW();
+        }
+    }
+}
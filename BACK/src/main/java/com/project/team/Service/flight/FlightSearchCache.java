@@ -0,0 +1,125 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Util.CoalescingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 항공편 검색 결과 캐시.
+ * 같은 여행 그룹 멤버들이 같은 노선/날짜/인원으로 검색하면 공급자(크롤러 등) 조회를 한 번만 한다.
+ * 동시에 들어온 같은 검색은 진행 중인 크롤링 하나의 결과를 함께 기다린다.
+ * 크롤링할 때마다 가격 기록을 남기고, 사용자 검색은 미리 검색(prefetch) 대상 선정을 위해 기록한다.
+ */
+@Slf4j
+@Component
+public class FlightSearchCache {
+
+    private final FlightSearchAggregator flightSearchAggregator;
+    private final FlightPriceHistoryService flightPriceHistoryService;
+    private final CoalescingCache<FlightSearchRequest, List<FlightData>> cache;
+    private final Duration prefetchTtl;
+
+    public FlightSearchCache(
+            FlightSearchAggregator flightSearchAggregator,
+            FlightPriceHistoryService flightPriceHistoryService,
+            @Value("${flight.cache.ttl-minutes:30}") long ttlMinutes,
+            @Value("${flight.cache.max-entries:500}") int maxEntries,
+            @Value("${flight.prefetch.ttl-minutes:360}") long prefetchTtlMinutes) {
+        this.flightSearchAggregator = flightSearchAggregator;
+        this.flightPriceHistoryService = flightPriceHistoryService;
+        this.cache = new CoalescingCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        this.prefetchTtl = Duration.ofMinutes(prefetchTtlMinutes);
+    }
+
+    public List<FlightData> search(FlightSearchRequest request) {
+        FlightSearchRequest key = request.normalized();
+        flightPriceHistoryService.recordSearch(key);
+        return cache.get(key, this::crawl);
+    }
+
+    /**
+     * 검색 기록(인기 노선 집계)을 남기지 않는 검색. 한 요청으로 여러 칸을 검색하는 요금 매트릭스용.
+     */
+    public List<FlightData> searchWithoutRecord(FlightSearchRequest request) {
+        return cache.get(request.normalized(), this::crawl);
+    }
+
+    /**
+     * 사용자 요청이 아닌 배치 작업(미리 검색, 가격 알림)용 검색. 검색 기록을 남기지 않는다.
+     * 새벽 시간대에 채워 두는 값이므로 새로 크롤링한 결과는 일반 검색보다 오래(prefetch ttl) 보관한다.
+     */
+    public List<FlightData> searchInBackground(FlightSearchRequest request) {
+        return cache.get(request.normalized(), this::crawl, prefetchTtl);
+    }
+
+    /**
+     * 크롤링 없이 캐시에 있는 결과만 조회한다.
+     */
+    public Optional<List<FlightData>> getIfPresent(FlightSearchRequest request) {
+        return cache.getIfPresent(request.normalized());
+    }
+
+    /**
+     * 검색 결과를 한 건씩 onFlight 로 넘긴다.
+     * 캐시에 있거나 같은 검색이 진행 중이면 그 결과를 한 번에 흘려주고,
+     * 직접 크롤링하는 경우에는 파싱되는 대로 넘기면서 모아 두었다가 캐시에 저장한다.
+     * 도중에 onFlight 가 실패해도(클라이언트 연결 끊김 등) 크롤링은 끝까지 받아 캐시에 저장한 뒤 그 예외를 던진다.
+     */
+    public void stream(FlightSearchRequest request, Consumer<FlightData> onFlight) {
+        AtomicBoolean streamed = new AtomicBoolean(false);
+        AtomicReference<RuntimeException> consumerFailure = new AtomicReference<>();
+        FlightSearchRequest normalized = request.normalized();
+        flightPriceHistoryService.recordSearch(normalized);
+        List<FlightData> flights = cache.get(normalized, key -> {
+            streamed.set(true);
+            List<FlightData> merged = flightSearchAggregator.stream(key, flight -> {
+                if (consumerFailure.get() != null) return;
+                try {
+                    onFlight.accept(flight);
+                } catch (RuntimeException e) {
+                    consumerFailure.set(e);
+                }
+            });
+            recordCrawl(key, merged);
+            return merged;
+        });
+        if (consumerFailure.get() != null) {
+            throw consumerFailure.get();
+        }
+        if (!streamed.get()) {
+            flights.forEach(onFlight);
+        }
+    }
+
+    private List<FlightData> crawl(FlightSearchRequest key) {
+        List<FlightData> flights = flightSearchAggregator.search(key);
+        recordCrawl(key, flights);
+        return flights;
+    }
+
+    private void recordCrawl(FlightSearchRequest key, List<FlightData> flights) {
+        // 기록 실패로 검색 결과를 버리지 않는다.
+        try {
+            flightPriceHistoryService.recordCrawl(key, flights);
+        } catch (RuntimeException e) {
+            log.warn("항공권 가격 기록 저장 실패 ({} -> {}): {}", key.depAp(), key.arrAp(), e.getMessage());
+        }
+    }
+
+    /**
+     * hit/miss/coalesced 통계. savedLoads 가 캐시 덕분에 생략된 크롤링(브라우저 실행) 횟수다.
+     */
+    public CoalescingCache.Stats stats() {
+        return cache.stats();
+    }
+}
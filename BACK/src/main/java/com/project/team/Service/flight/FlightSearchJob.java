@@ -0,0 +1,54 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 비동기 항공편 검색 작업 하나의 상태.
+ * 상태 변경은 FlightSearchJobScheduler 의 작업 스레드에서만 일어나고, 조회는 어느 스레드에서나 할 수 있다.
+ */
+@Getter
+public class FlightSearchJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final FlightSearchRequest request;
+    private final String owner; // 작업을 처음 요청한 사용자(이메일), 공정 스케줄링 단위
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile List<FlightData> flights;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    FlightSearchJob(FlightSearchRequest request, String owner) {
+        this.request = request;
+        this.owner = owner;
+    }
+
+    void markRunning() {
+        this.status = Status.RUNNING;
+    }
+
+    void complete(List<FlightData> flights) {
+        this.flights = flights;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.DONE;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightSearchJobResponse;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import com.project.team.Exception.ResourceNotFoundException;
+import com.project.team.Exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 항공편 검색을 요청 스레드에서 분리해 실행하는 스케줄러.
+ * - 요청은 작업 id 를 바로 돌려받고, 결과는 폴링(GET) 또는 STOMP(/chat/flights/{jobId})로 받는다.
+ * - 사용자별 큐를 라운드로빈으로 돌려서 한 사용자가 여러 건을 넣어도 다른 사용자가 밀리지 않는다.
+ * - 같은 조건의 검색이 이미 대기/실행 중이면 새 작업을 만들지 않고 기존 작업을 돌려준다.
+ * - 전체 대기열이 가득 차면 429 + Retry-After 로 거절한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightSearchJobScheduler {
+
+    private final FlightSearchCache flightSearchCache;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${flight.jobs.workers:2}")
+    private int workerCount;
+
+    @Value("${flight.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${flight.jobs.per-user-limit:5}")
+    private int perUserLimit;
+
+    @Value("${flight.jobs.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Value("${flight.jobs.retention-minutes:10}")
+    private long retentionMinutes;
+
+    // 조회용: 대기/실행/완료된 모든 작업 (완료 작업은 retention 이후 정리)
+    private final Map<String, FlightSearchJob> jobs = new ConcurrentHashMap<>();
+
+    // 아래 필드들은 this 로 동기화
+    private final Map<String, ArrayDeque<FlightSearchJob>> userQueues = new HashMap<>();
+    private final ArrayDeque<String> userRotation = new ArrayDeque<>();
+    private final Map<FlightSearchRequest, FlightSearchJob> activeByRequest = new HashMap<>();
+    private int queuedCount;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void start() {
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "flight-search-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::runLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 검색 작업을 등록한다. 같은 조건의 작업이 대기/실행 중이면 그 작업을 돌려준다.
+     */
+    public synchronized FlightSearchJob submit(FlightSearchRequest request, String owner) {
+        FlightSearchRequest key = request.normalized();
+
+        FlightSearchJob active = activeByRequest.get(key);
+        if (active != null) {
+            return active;
+        }
+
+        if (queuedCount >= queueCapacity) {
+            throw new TooManyRequestsException("항공편 검색 요청이 많습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+        }
+        ArrayDeque<FlightSearchJob> queue = userQueues.computeIfAbsent(owner, k -> new ArrayDeque<>());
+        if (queue.size() >= perUserLimit) {
+            throw new TooManyRequestsException("대기 중인 항공편 검색이 너무 많습니다. 이전 검색이 끝난 뒤 다시 시도해주세요.", retryAfterSeconds);
+        }
+
+        FlightSearchJob job = new FlightSearchJob(key, owner);
+        jobs.put(job.getId(), job);
+        activeByRequest.put(key, job);
+        if (queue.isEmpty()) {
+            userRotation.addLast(owner);
+        }
+        queue.addLast(job);
+        queuedCount++;
+        notifyAll();
+        return job;
+    }
+
+    public FlightSearchJob getJob(String jobId) {
+        FlightSearchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("항공편 검색 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 라운드로빈으로 다음 사용자의 가장 오래된 작업을 꺼낸다. 대기 작업이 없으면 기다린다.
+     */
+    private synchronized FlightSearchJob takeNext() throws InterruptedException {
+        while (userRotation.isEmpty()) {
+            wait();
+        }
+        String owner = userRotation.pollFirst();
+        ArrayDeque<FlightSearchJob> queue = userQueues.get(owner);
+        FlightSearchJob job = queue.pollFirst();
+        if (queue.isEmpty()) {
+            userQueues.remove(owner);
+        } else {
+            userRotation.addLast(owner);
+        }
+        queuedCount--;
+        job.markRunning();
+        return job;
+    }
+
+    private synchronized void finish(FlightSearchJob job) {
+        activeByRequest.remove(job.getRequest(), job);
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            FlightSearchJob job;
+            try {
+                job = takeNext();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                job.complete(flightSearchCache.search(job.getRequest()));
+            } catch (RuntimeException e) {
+                log.warn("항공편 검색 작업 실패 ({}): {}", job.getId(), e.getMessage());
+                job.fail(e.getMessage());
+            } finally {
+                finish(job);
+            }
+            publish(job);
+        }
+    }
+
+    private void publish(FlightSearchJob job) {
+        try {
+            messagingTemplate.convertAndSend("/chat/flights/" + job.getId(), new FlightSearchJobResponse(job));
+        } catch (RuntimeException e) {
+            log.warn("항공편 검색 결과 전송 실패 ({}): {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 완료 후 retention 이 지난 작업을 정리한다.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+}
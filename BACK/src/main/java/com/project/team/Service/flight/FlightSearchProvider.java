@@ -0,0 +1,27 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 항공편 검색 공급자. 빈으로 등록된 공급자는 모두 {@link FlightSearchAggregator} 가 병렬로 조회해 합친다.
+ */
+public interface FlightSearchProvider {
+
+    /**
+     * 로그/설정에 쓰는 공급자 이름
+     */
+    String name();
+
+    List<FlightData> search(FlightSearchRequest request);
+
+    /**
+     * 항공편을 찾는 대로 onFlight 로 넘긴다. 한 번에 결과를 받는 공급자는 기본 구현을 그대로 쓴다.
+     */
+    default void stream(FlightSearchRequest request, Consumer<FlightData> onFlight) {
+        search(request).forEach(onFlight);
+    }
+}
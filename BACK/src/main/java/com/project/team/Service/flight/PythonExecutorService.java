@@ -1,28 +1,40 @@
 package com.project.team.Service.flight;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
 import com.project.team.Dto.flight.FlightData;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStreamReader;
 import java.util.List;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.function.Consumer;
 
 
+/**
+ * 네이버 항공권 페이지를 크롤링하는 기본 공급자 (flight.providers.naver.enabled=false 로 끌 수 있음)
+ */
 @Service
-public class PythonExecutorService {
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "flight.providers.naver.enabled", havingValue = "true", matchIfMissing = true)
+public class PythonExecutorService implements FlightSearchProvider {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    @Value("${python-path}")
-    private String pythonExecutable;
+    // 검색마다 파이썬/브라우저를 새로 띄우지 않고 상주 워커 풀에 작업을 맡긴다.
+    private final FlightCrawlerPool flightCrawlerPool;
+
+    @Override
+    public String name() {
+        return "naver";
+    }
+
+    @Override
+    public List<FlightData> search(FlightSearchRequest request) {
+        return executeFlightCrawler(request.depAp(), request.arrAp(), request.depDate(), request.retDate(), request.adult());
+    }
+
+    @Override
+    public void stream(FlightSearchRequest request, Consumer<FlightData> onFlight) {
+        streamFlightCrawler(request.depAp(), request.arrAp(), request.depDate(), request.retDate(), request.adult(), onFlight);
+    }
 
     public List<FlightData> executeFlightCrawler(
             String departureAp,
@@ -31,59 +43,18 @@ public class PythonExecutorService {
             String returnDate,
             int adultCount
     ) {
-        try {
-            // 1. 프로젝트 리소스 폴더에서 스크립트 파일을 찾습니다.
-            String scriptPath = getScriptPathFromResources("scripts/flight.py");
-
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    pythonExecutable,
-                    "-X", "utf8",
-                    scriptPath,
-                    departureAp,
-                    arrivalAp,
-                    departDate,
-                    returnDate,
-                    String.valueOf(adultCount)
-            );
-
-            Process process = processBuilder.start();
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream(), "UTF-8"));
-            BufferedReader errorReader = new BufferedReader(
-                    new InputStreamReader(process.getErrorStream(), "UTF-8"));
-            StringBuilder jsonOutput = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) jsonOutput.append(line);
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                String errorLine;
-                StringBuilder errorOutput = new StringBuilder();
-                while ((errorLine = errorReader.readLine()) != null) errorOutput.append(errorLine).append("\n");
-                throw new RuntimeException("Python script failed with exit code " + exitCode + ". Error: " + errorOutput.toString());
-            }
-            if (!StringUtils.hasText(jsonOutput.toString())) {
-                return List.of();
-            }
-            CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, FlightData.class);
-            return objectMapper.readValue(jsonOutput.toString(), listType);
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("Error executing Python script or parsing JSON", e); // 기존 예외는 유지
-        }
+        return flightCrawlerPool.search(departureAp, arrivalAp, departDate, returnDate, adultCount);
     }
 
-    private String getScriptPathFromResources(String resourceName) throws IOException {
-        // 리소스 파일을 읽기 위한 InputStream을 가져옵니다.
-        InputStream inputStream = new ClassPathResource(resourceName).getInputStream();
-
-        // 스크립트를 실행할 수 있도록 임시 파일로 복사합니다.
-        File tempFile = File.createTempFile("flight_script", ".py");
-        tempFile.deleteOnExit(); // 프로그램 종료 시 임시 파일 자동 삭제
-
-        try (FileOutputStream out = new FileOutputStream(tempFile)) {
-            inputStream.transferTo(out);
-        }
-
-        // 임시 파일의 절대 경로를 반환합니다.
-        return tempFile.getAbsolutePath();
+    // 크롤러가 항공편을 파싱하는 대로 onFlight 로 흘려보낸다. (전체 결과를 기다리지 않음)
+    public int streamFlightCrawler(
+            String departureAp,
+            String arrivalAp,
+            String departDate,
+            String returnDate,
+            int adultCount,
+            Consumer<FlightData> onFlight
+    ) {
+        return flightCrawlerPool.stream(departureAp, arrivalAp, departDate, returnDate, adultCount, onFlight);
     }
 }
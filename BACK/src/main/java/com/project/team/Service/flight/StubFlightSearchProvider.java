@@ -0,0 +1,87 @@
+package com.project.team.Service.flight;
+
+import com.project.team.Dto.flight.FlightData;
+import com.project.team.Dto.flight.FlightSearchRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * 브라우저/네트워크 없이 JVM 안에서 항공편을 만들어 내는 공급자. (부하 테스트, 벤치마크용)
+ * 같은 검색 조건이면 항상 같은 결과를 돌려주고, 설정한 지연 시간만큼 기다렸다가 응답한다.
+ * flight.providers.stub.enabled=true 일 때만 등록된다.
+ */
+@Component
+@ConditionalOnProperty(name = "flight.providers.stub.enabled", havingValue = "true")
+public class StubFlightSearchProvider implements FlightSearchProvider {
+
+    private static final String[] AIRLINES = {
+            "대한항공", "아시아나항공", "제주항공", "진에어", "티웨이항공", "에어부산", "이스타항공", "에어서울"
+    };
+
+    @Value("${flight.providers.stub.latency-ms:300}")
+    private long latencyMillis;
+
+    @Value("${flight.providers.stub.flight-count:60}")
+    private int flightCount;
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public List<FlightData> search(FlightSearchRequest request) {
+        List<FlightData> flights = new ArrayList<>(flightCount);
+        stream(request, flights::add);
+        return flights;
+    }
+
+    /**
+     * 지연 시간의 절반이 지나면 첫 항공편을, 나머지 절반에 걸쳐 남은 항공편을 내보낸다.
+     */
+    @Override
+    public void stream(FlightSearchRequest request, Consumer<FlightData> onFlight) {
+        Random random = new Random(request.normalized().hashCode());
+        long firstDelay = latencyMillis / 2;
+        long perFlightDelay = flightCount == 0 ? 0 : (latencyMillis - firstDelay) / flightCount;
+        int adult = Math.max(1, request.adult());
+
+        sleep(firstDelay);
+        for (int i = 0; i < flightCount; i++) {
+            int departMinutes = random.nextInt(18 * 60) + 6 * 60; // 06:00 ~ 23:59
+            int flightMinutes = 60 + random.nextInt(10 * 60);
+            int returnMinutes = random.nextInt(18 * 60) + 6 * 60;
+            int price = (150_000 + random.nextInt(75) * 10_000) * adult;
+            onFlight.accept(new FlightData(
+                    AIRLINES[random.nextInt(AIRLINES.length)],
+                    price,
+                    time(departMinutes),
+                    time(departMinutes + flightMinutes),
+                    time(returnMinutes),
+                    time(returnMinutes + flightMinutes)
+            ));
+            sleep(perFlightDelay);
+        }
+    }
+
+    private static String time(int minutes) {
+        int ofDay = minutes % (24 * 60);
+        return String.format("%02d:%02d", ofDay / 60, ofDay % 60);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("stub 항공편 검색이 중단되었습니다.", e);
+        }
+    }
+}
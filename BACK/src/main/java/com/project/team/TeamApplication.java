@@ -13,6 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 @EnableJpaAuditing
 public class TeamApplication{
     public static void main(String[] args) {
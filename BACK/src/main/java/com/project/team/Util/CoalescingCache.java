@@ -0,0 +1,231 @@
+package com.project.team.Util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 크기 제한(LRU) + TTL 을 가진 메모리 캐시.
+ * 같은 키에 대한 동시 miss 는 하나의 로딩으로 합쳐서(single-flight) 나머지는 그 결과를 기다린다.
+ * 로딩 중에 {@link #invalidate(Object)} 된 키는 로딩 결과를 캐시에 저장하지 않는다.
+ */
+public class CoalescingCache<K, V> {
+
+    private record CachedValue<V>(V value, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    /**
+     * 캐시 통계. savedLoads 는 실제 로딩(외부 호출) 없이 응답한 횟수(hit + coalesced).
+     */
+    public record Stats(long hits, long misses, long coalesced, long evictions, int size) {
+        @JsonProperty
+        public long savedLoads() {
+            return hits + coalesced;
+        }
+
+        @JsonProperty
+        public double hitRate() {
+            long total = hits + misses + coalesced;
+            return total == 0 ? 0.0 : (double) savedLoads() / total;
+        }
+    }
+
+    private final Duration defaultTtl;
+    private final LinkedHashMap<K, CachedValue<V>> entries; // 접근 순서(LRU), this 로 동기화
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CoalescingCache(int maxSize, Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시에 있으면 반환하고, 없으면 loader 로 읽어 저장한다. (호출한 스레드에서 로딩)
+     * 같은 키를 이미 다른 스레드가 로딩 중이면 그 결과를 기다린다.
+     */
+    public V get(K key, Function<K, V> loader) {
+        return get(key, loader, defaultTtl);
+    }
+
+    /**
+     * {@link #get(Object, Function)} 과 같되, 새로 로딩한 값은 ttl 동안 보관한다.
+     */
+    public V get(K key, Function<K, V> loader, Duration ttl) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return join(existing);
+        }
+
+        try {
+            // putIfAbsent 직전에 다른 스레드가 로딩을 끝냈을 수 있음
+            V loadedMeanwhile = lookup(key);
+            if (loadedMeanwhile != null) {
+                hits.incrementAndGet();
+                mine.complete(loadedMeanwhile);
+                return loadedMeanwhile;
+            }
+
+            misses.incrementAndGet();
+            V value = loader.apply(key);
+            store(key, value, mine, ttl);
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error(StackOverflowError 등)도 합류한 호출에 전달해야 한다. (완료하지 않으면 join 에서 영원히 대기)
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * {@link #get(Object, Function)} 의 비동기 버전. loader 가 돌려준 future 의 결과를 저장한다.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> loader) {
+        return getAsync(key, loader, value -> true);
+    }
+
+    /**
+     * {@link #getAsync(Object, Function)} 와 같되, cacheable 을 만족하는 결과만 저장한다. (오류 응답 등은 저장하지 않음)
+     * 저장하지 않는 결과도 로딩 중에 합류한 호출에는 그대로 전달된다.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> loader, Predicate<V> cacheable) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        misses.incrementAndGet();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (Throwable e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        loading.whenComplete((value, error) -> {
+            try {
+                if (error == null && cacheable.test(value)) {
+                    store(key, value, mine, defaultTtl);
+                }
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                inFlight.remove(key, mine);
+                if (error == null) {
+                    mine.complete(value);
+                } else {
+                    mine.completeExceptionally(error);
+                }
+            }
+        });
+        return mine;
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    public synchronized void put(K key, V value, Duration ttl) {
+        if (value == null) return;
+        entries.put(key, new CachedValue<>(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * 키를 제거한다. 진행 중인 로딩이 있으면 그 결과는 저장되지 않는다.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        inFlight.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        inFlight.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), coalesced.get(), evictions.get(), size());
+    }
+
+    private synchronized V lookup(K key) {
+        CachedValue<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void store(K key, V value, CompletableFuture<V> owner, Duration ttl) {
+        // 로딩 도중 invalidate 되었다면 (inFlight 에서 빠졌다면) 오래된 값이므로 저장하지 않는다.
+        if (value != null && inFlight.get(key) == owner) {
+            entries.put(key, new CachedValue<>(value, System.currentTimeMillis() + ttl.toMillis()));
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.team.Util;
+
+import com.project.team.Entity.Place;
+import com.project.team.Repository.PlaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 스키마 변경 후 기존 데이터를 새 구조에 맞게 채워 넣는 작업. (서버 시작 시 실행, 여러 번 실행해도 안전)
+ * 웹 요청을 받기 전에 끝나야 하는 작업은 여기 두지 않는다. (IdSequenceMigration, RankKeyMigration)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataMigration implements CommandLineRunner {
+    private final PlaceRepository placeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        // 장소 상세 정보: 유형별 테이블(accommodation/attraction/restaurant) → place 컬럼
+        migratePlaceDetails("accommodation", "숙소", "p.phone_number = d.phone_number");
+        migratePlaceDetails("attraction", "관광지", "p.open_now = d.open_now, p.opening_hours_text = d.opening_hours_text");
+        migratePlaceDetails("restaurant", "음식점",
+                "p.phone_number = d.phone_number, p.open_now = d.open_now, p.opening_hours_text = d.opening_hours_text");
+
+        // 장소 geohash: 좌표가 있는데 geohash 가 없는 장소를 500건씩 채운다.
+        int geohashes = 0;
+        while (true) {
+            Integer filled = transactionTemplate.execute(status -> {
+                List<Place> places = placeRepository.findTop500ByGeohashIsNullAndLatitudeIsNotNullAndLongitudeIsNotNull();
+                places.forEach(place -> place.setGeohash(GeoHash.encode(place.getLatitude(), place.getLongitude(), GeoHash.STORED_PRECISION)));
+                return places.size();
+            });
+            if (filled == null || filled == 0) break;
+            geohashes += filled;
+        }
+        if (geohashes > 0) {
+            log.info("[마이그레이션] 장소 geohash {}건 채움", geohashes);
+        }
+    }
+
+    /**
+     * 예전 상세 테이블의 값을 place 로 옮기고 테이블 이름을 {table}_backup 으로 바꾼다.
+     * 이름을 바꾼 뒤에는 테이블이 없으므로 다시 실행되지 않는다. (장소마다 id 가 가장 작은 한 건을 사용 - 예전 조회 방식과 동일)
+     */
+    private void migratePlaceDetails(String table, String type, String assignments) {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        if (exists == null || exists == 0) return;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE place p " +
+                "JOIN (SELECT place_id, MIN(id) AS id FROM " + table + " GROUP BY place_id) f ON f.place_id = p.id " +
+                "JOIN " + table + " d ON d.id = f.id " +
+                "SET " + assignments + " WHERE p.type = ?",
+                type);
+        jdbcTemplate.execute("RENAME TABLE " + table + " TO " + table + "_backup");
+        log.info("[마이그레이션] 장소 상세 정보 {} → place {}건 이전, 기존 테이블은 {}_backup 으로 변경", table, updated, table);
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.team.Util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash 인코딩. 좌표를 base32 문자열로 바꾸며, 앞부분(prefix)이 같으면 같은 격자 안에 있다.
+ * DB 의 geohash 컬럼에 LIKE 'prefix%' (인덱스 범위 검색)로 주변 장소 후보를 빠르게 찾는 데 쓴다.
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    // 위도 1도의 거리(m)
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    // 장소에 저장하는 정밀도 (약 4.8m x 4.8m)
+    public static final int STORED_PRECISION = 9;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true; // 경도부터 번갈아 가며 반으로 나눈다.
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * 중심에서 radiusMeters 안의 모든 지점을 덮는 격자들의 geohash (중심 격자 + 주변 8개, 중복 제거).
+     * 격자 한 칸이 반경보다 크거나 같아지는 가장 세밀한 정밀도를 쓴다.
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusMeters) {
+        int precision = precisionFor(latitude, radiusMeters);
+        double cellHeight = cellHeightDegrees(precision);
+        double cellWidth = cellWidthDegrees(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                double lat = Math.max(-90, Math.min(90, latitude + dy * cellHeight));
+                double lon = normalizeLongitude(longitude + dx * cellWidth);
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static int precisionFor(double latitude, double radiusMeters) {
+        double metersPerLonDegree = METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            if (cellHeightDegrees(precision) * METERS_PER_DEGREE >= radiusMeters
+                    && cellWidthDegrees(precision) * metersPerLonDegree >= radiusMeters) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    private static double cellHeightDegrees(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    private static double cellWidthDegrees(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude >= 180) return longitude - 360;
+        if (longitude < -180) return longitude + 360;
+        return longitude;
+    }
+
+    // 두 좌표 사이의 대원 거리 (m)
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * 6_371_000 * Math.asin(Math.sqrt(a));
+    }
+}
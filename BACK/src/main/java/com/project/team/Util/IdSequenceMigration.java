@@ -0,0 +1,57 @@
+package com.project.team.Util;
+
+import com.project.team.Config.JpaBatchConfig;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * IDENTITY → SEQUENCE 전환 후 id 시퀀스를 준비한다.
+ * 시퀀스가 없으면 만들고, 기존 행의 최대 id 보다 큰 값부터 나오도록 올려 둔다. (여러 번 실행해도 안전, 값을 내리지는 않음)
+ *
+ * DataMigration(CommandLineRunner)은 웹 서버와 스케줄러가 뜬 뒤에 실행되어 그 사이 INSERT 가 기존 id 와 겹칠 수 있으므로,
+ * 모든 빈이 만들어진 직후(웹 서버 시작 전)에 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceMigration implements SmartInitializingSingleton {
+
+    // 엔티티의 @SequenceGenerator sequenceName = {table}_seq
+    private static final List<String> TABLES = List.of(
+            "travel", "travel_plans", "travel_permission", "chat", "place", "notifications",
+            "flight_price_history", "flight_search_log");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory; // 스키마 생성(ddl-auto) 이후에 실행되도록
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            Long maxId = tableExists(table)
+                    ? jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class)
+                    : 0L;
+            long start = (maxId == null ? 0 : maxId) + JpaBatchConfig.ID_ALLOCATION_SIZE;
+
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH " + start + " INCREMENT BY " + JpaBatchConfig.ID_ALLOCATION_SIZE);
+            // pooled 최적화는 받은 값 v 에서 v-49 ~ v 를 쓰므로, 다음 값이 최대 id + 50 이상이어야 겹치지 않는다.
+            // (SETVAL 은 현재 값보다 작으면 무시된다)
+            jdbcTemplate.queryForObject("SELECT SETVAL(" + sequence + ", ?)", Long.class, start);
+            log.debug("[마이그레이션] {} 다음 id 기준값 {}", sequence, start);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
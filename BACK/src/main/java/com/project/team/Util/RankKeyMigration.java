@@ -0,0 +1,33 @@
+package com.project.team.Util;
+
+import com.project.team.Repository.TravelPlanRepository;
+import com.project.team.Service.TravelPlanRankService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * rank_key 컬럼 추가 전에 만든 일정에 정렬 키를 채운다. 기존 sequence 순서를 그대로 유지하도록 sequence * GAP 으로 채운다.
+ * (여러 번 실행해도 안전)
+ *
+ * 정렬 키가 NULL 인 일정은 추가/이동/조회(TravelPlanRankService)가 처리할 수 없으므로,
+ * IdSequenceMigration 과 같이 모든 빈이 만들어진 직후(웹 서버 시작 전)에 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankKeyMigration implements SmartInitializingSingleton {
+
+    private final TravelPlanRepository travelPlanRepository;
+    private final EntityManagerFactory entityManagerFactory; // 스키마 생성(ddl-auto) 이후에 실행되도록
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int rankKeys = travelPlanRepository.initializeMissingRankKeys(TravelPlanRankService.GAP);
+        if (rankKeys > 0) {
+            log.info("[마이그레이션] 일정 정렬 키(rank_key) {}건 채움", rankKeys);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.project.team.Util;
+
+/**
+ * 하루 일정(경유지)의 방문 순서를 총 이동 거리가 짧아지도록 정하는 경로 최적화.
+ * 돌아오지 않는 경로(첫 경유지 → 마지막 경유지) 기준이며, 첫/마지막 경유지를 고정할 수 있다. (예: 숙소에서 출발/도착)
+ *
+ * 최근접 이웃으로 초기 경로를 만든 뒤 2-opt(구간 뒤집기)와 Or-opt(1~3개 구간 옮기기)로 더 줄일 수 없을 때까지 개선한다.
+ * 거리 행렬은 double[] 하나로 만들고, 개선 중에는 order 배열을 제자리에서 바꾸기만 한다. (반복 중 객체 생성 없음)
+ * 50개 경유지 기준 한 번에 수 ms 이내라 요청 스레드에서 바로 실행한다.
+ */
+public final class RouteOptimizer {
+
+    // 부동소수 오차로 같은 이동을 반복하지 않도록 (1cm 미만 개선은 무시)
+    private static final double EPSILON = 0.01;
+
+    private static final int MAX_ROUNDS = 100;
+
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+
+    private RouteOptimizer() {
+    }
+
+    /**
+     * @param order           방문 순서 (lat/lon 의 인덱스)
+     * @param initialMeters   입력 순서 그대로일 때의 거리
+     * @param optimizedMeters 최적화한 순서의 거리
+     */
+    public record Result(int[] order, double initialMeters, double optimizedMeters) {}
+
+    /**
+     * @param latitudes  경유지 위도 (현재 순서대로)
+     * @param longitudes 경유지 경도
+     * @param fixFirst   첫 경유지(인덱스 0)를 맨 앞에 고정
+     * @param fixLast    마지막 경유지(인덱스 n-1)를 맨 뒤에 고정
+     */
+    public static Result optimize(double[] latitudes, double[] longitudes, boolean fixFirst, boolean fixLast) {
+        int n = latitudes.length;
+        if (longitudes.length != n) {
+            throw new IllegalArgumentException("위도/경도 개수가 다릅니다.");
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n <= 2) {
+            double length = n == 2 ? GeoHash.distanceMeters(latitudes[0], longitudes[0], latitudes[1], longitudes[1]) : 0;
+            return new Result(order, length, length);
+        }
+
+        double[] dist = distanceMatrix(latitudes, longitudes);
+        double initial = pathLength(dist, n, order);
+
+        nearestNeighbor(dist, n, order, fixLast);
+
+        // 움직일 수 있는 위치 범위 [lo, hi]
+        int lo = fixFirst ? 1 : 0;
+        int hi = fixLast ? n - 2 : n - 1;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            boolean improved = twoOpt(dist, n, order, lo, hi) | orOpt(dist, n, order, lo, hi);
+            if (!improved) break;
+        }
+
+        double optimized = pathLength(dist, n, order);
+        if (optimized > initial) {
+            // 초기 경로가 이미 더 짧은 경우 (휴리스틱이므로 가능) 원래 순서 유지
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            optimized = initial;
+        }
+        return new Result(order, initial, optimized);
+    }
+
+    /**
+     * 인덱스 0 에서 출발해 가장 가까운 경유지를 차례로 방문하는 초기 경로. fixLast 면 마지막 경유지는 맨 뒤에 둔다.
+     */
+    private static void nearestNeighbor(double[] dist, int n, int[] order, boolean fixLast) {
+        boolean[] visited = new boolean[n];
+        int count = n;
+        if (fixLast) {
+            visited[n - 1] = true;
+            order[n - 1] = n - 1;
+            count = n - 1;
+        }
+        int current = 0;
+        order[0] = 0;
+        visited[0] = true;
+        for (int k = 1; k < count; k++) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            int row = current * n;
+            for (int j = 0; j < n; j++) {
+                if (!visited[j] && dist[row + j] < bestDistance) {
+                    best = j;
+                    bestDistance = dist[row + j];
+                }
+            }
+            order[k] = best;
+            visited[best] = true;
+            current = best;
+        }
+    }
+
+    /**
+     * order[i..j] 를 뒤집어 거리가 줄면 적용한다. (first-improvement)
+     */
+    private static boolean twoOpt(double[] dist, int n, int[] order, int lo, int hi) {
+        boolean improved = false;
+        for (int i = lo; i < hi; i++) {
+            for (int j = i + 1; j <= hi; j++) {
+                int before = i > 0 ? order[i - 1] : -1;
+                int first = order[i];
+                int last = order[j];
+                int after = j < n - 1 ? order[j + 1] : -1;
+
+                double delta = 0;
+                if (before >= 0) delta += dist[before * n + last] - dist[before * n + first];
+                if (after >= 0) delta += dist[first * n + after] - dist[last * n + after];
+
+                if (delta < -EPSILON) {
+                    reverse(order, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * 길이 1~3 의 구간을 다른 위치(정방향 또는 뒤집어서)로 옮겨 거리가 줄면 적용한다.
+     */
+    private static boolean orOpt(double[] dist, int n, int[] order, int lo, int hi) {
+        boolean improved = false;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT; length++) {
+            for (int i = lo; i + length - 1 <= hi; i++) {
+                int end = i + length - 1;
+                int segmentFirst = order[i];
+                int segmentLast = order[end];
+                int before = i > 0 ? order[i - 1] : -1;
+                int after = end < n - 1 ? order[end + 1] : -1;
+
+                // 구간을 빼냈을 때 줄어드는 거리
+                double removeGain = 0;
+                if (before >= 0) removeGain += dist[before * n + segmentFirst];
+                if (after >= 0) removeGain += dist[segmentLast * n + after];
+                if (before >= 0 && after >= 0) removeGain -= dist[before * n + after];
+
+                // order[p] 와 order[p+1] 사이에 넣기 (p = lo-1 이면 움직일 수 있는 범위의 맨 앞)
+                for (int p = lo - 1; p <= hi; p++) {
+                    if (p >= i - 1 && p <= end) continue; // 제자리
+                    int left = p >= 0 ? order[p] : -1;
+                    int right = p + 1 < n ? order[p + 1] : -1;
+                    double joined = (left >= 0 && right >= 0) ? dist[left * n + right] : 0;
+
+                    double forward = -joined;
+                    double reversed = -joined;
+                    if (left >= 0) {
+                        forward += dist[left * n + segmentFirst];
+                        reversed += dist[left * n + segmentLast];
+                    }
+                    if (right >= 0) {
+                        forward += dist[segmentLast * n + right];
+                        reversed += dist[segmentFirst * n + right];
+                    }
+
+                    boolean reverseSegment = reversed < forward;
+                    double delta = Math.min(forward, reversed) - removeGain;
+                    if (delta < -EPSILON) {
+                        moveSegment(order, i, end, p, reverseSegment);
+                        improved = true;
+                        break; // order 가 바뀌었으므로 이 구간은 다음 라운드에서 다시 본다.
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * order[start..end] 구간을 order[p] 뒤로 옮긴다. 세 번 뒤집기로 제자리에서 회전한다.
+     */
+    private static void moveSegment(int[] order, int start, int end, int p, boolean reverseSegment) {
+        if (p > end) {
+            // [A B] → [B A], A = start..end, B = end+1..p
+            if (!reverseSegment) reverse(order, start, end);
+            reverse(order, end + 1, p);
+            reverse(order, start, p);
+        } else {
+            // [B A] → [A B], B = p+1..start-1, A = start..end
+            reverse(order, p + 1, start - 1);
+            if (!reverseSegment) reverse(order, start, end);
+            reverse(order, p + 1, end);
+        }
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        while (from < to) {
+            int tmp = order[from];
+            order[from++] = order[to];
+            order[to--] = tmp;
+        }
+    }
+
+    private static double pathLength(double[] dist, int n, int[] order) {
+        double length = 0;
+        for (int i = 1; i < n; i++) {
+            length += dist[order[i - 1] * n + order[i]];
+        }
+        return length;
+    }
+
+    private static double[] distanceMatrix(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] dist = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = GeoHash.distanceMeters(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+                dist[i * n + j] = d;
+                dist[j * n + i] = d;
+            }
+        }
+        return dist;
+    }
+}
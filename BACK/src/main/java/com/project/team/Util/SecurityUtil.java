@@ -1,11 +1,12 @@
 package com.project.team.Util;
 
+import com.project.team.Security.AuthUser;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 
 /**
  * Spring Security 컨텍스트에서 현재 사용자의 데이터를 받아올 수 있는 메서드들을 정의할 클래스.
- * 현재는 사용자의 Email을 받아오는 메서드만 정의함.
+ * 사용자의 Email 과 ID 를 받아오는 메서드를 정의함. (둘 다 JWT 클레임에서 온 값이라 DB 조회 없음)
  * UserService의 patchNickname메서드 매개변수인 Principal 대신 이곳의 메서드를 쓰면 매개변수가 줄어들고
  * 코드가 간략해지며 유연성이 늘어나니, 혹시 모를 나중을 위해 이 클래스를 남겨둡니다.
  * .
@@ -28,4 +29,16 @@ public class SecurityUtil {
         // 현재 설정(JwtService, AuthenticationFilter)상 '이메일'입니다.
         return authentication.getName();
     }
+
+    /**
+     * SecurityContext에서 인증된 사용자의 ID를 반환합니다. (AuthenticationFilter가 넣은 AuthUser의 id 클레임)
+     */
+    public static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthUser authUser)) {
+            throw new RuntimeException("인증된 사용자가 없습니다.");
+        }
+        return authUser.id();
+    }
 }
\ No newline at end of file
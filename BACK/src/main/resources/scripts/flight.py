@@ -7,80 +7,185 @@ import sys
 # 🚨 개별 항공편 항목의 셀렉터 (정확함)
 FLIGHT_ITEM_SELECTOR = '.combination_ConcurrentItemContainer__uUEbl'
 MAX_FLIGHT_COUNT = 600
+# 새 항목을 찾는 주기와, 새 항목이 이 시간 동안 더 나오지 않으면 로딩이 끝난 것으로 보는 시간
+POLL_INTERVAL_MS = 250
+SETTLE_MS = 1500
 
-async def crawl_and_parse_flights():
-# URL 생성 로직
+
+def build_url(departure_ap, arrival_ap, depart_date, return_date, adult_count):
+    # URL 생성 로직
     base_url = "https://flight.naver.com/flights/international/"
-    itinerary_path = f"{DEPARTURE_AP}-{ARRIVAL_AP}-{DEPART_DATE}/{ARRIVAL_AP}-{DEPARTURE_AP}-{RETURN_DATE}"
-    final_url = f"{base_url}{itinerary_path}?adult={ADULT_COUNT}&fareType=Y"
-    
-    flight_data_list = [] # 추출된 데이터를 저장할 리스트
+    itinerary_path = f"{departure_ap}-{arrival_ap}-{depart_date}/{arrival_ap}-{departure_ap}-{return_date}"
+    return f"{base_url}{itinerary_path}?adult={adult_count}&fareType=Y"
+
+
+def parse_flight_item(item):
+    data = {}
+
+    # 2. 항공사 이름 추출
+    # item_ItemHeader__2fM4z > airline_Airlines__5_z0a > airline_text__WWkbY > airline_name__0Tw5w
+    airline_tag = item.select_one('.airline_name__0Tw5w')
+    data['airline'] = airline_tag.get_text().strip() if airline_tag else 'N/A'
+
+    # 3. 가격 추출
+    # item_ItemPriceList__pAvJJ > item_summary__YgDrL > item_num__aKbk4
+    price_tag = item.select_one('.item_num__aKbk4')
+    price_text = price_tag.get_text().replace(',', '').strip() if price_tag else '0'
+    data['priceKRW'] = int(price_text)
+
+    # 4. 여정 정보 추출 (시간, 공항 코드)
+    routes = item.select('.route_Route__HYsDn') # 왕편/복편 여정 두 개
+    if len(routes) >= 2:
+        # 왕편 (출발 -> 도착)
+        depart_time_tag = routes[0].select_one('.route_time__xWu7a')
+        arrive_time_tag = routes[0].select_one('.route_airport__tBD9o:nth-child(2) .route_time__xWu7a')
+
+        data['departureTime'] = depart_time_tag.get_text().strip() if depart_time_tag else 'N/A'
+        data['arrivalTime'] = arrive_time_tag.get_text().strip() if arrive_time_tag else 'N/A'
+
+        # 복편 (도착 -> 출발)
+        return_depart_time_tag = routes[1].select_one('.route_time__xWu7a')
+        return_arrive_time_tag = routes[1].select_one('.route_airport__tBD9o:nth-child(2) .route_time__xWu7a')
+
+        data['returnDepartureTime'] = return_depart_time_tag.get_text().strip() if return_depart_time_tag else 'N/A'
+        data['returnArrivalTime'] = return_arrive_time_tag.get_text().strip() if return_arrive_time_tag else 'N/A'
+
+    return data
+
+
+async def crawl_flights(browser, departure_ap, arrival_ap, depart_date, return_date, adult_count, on_flight):
+    """
+    항공편이 화면에 그려지는 대로 on_flight(data) 를 호출한다.
+    페이지 전체를 다시 파싱하지 않고, POLL_INTERVAL_MS 마다 항목 목록을 다시 조회해 새로 생긴 항목만 파싱한다.
+    새 항목이 SETTLE_MS 동안 더 나오지 않거나 MAX_FLIGHT_COUNT 에 닿으면 끝낸다.
+    반환값은 추출한 항공편 수.
+    """
+    final_url = build_url(departure_ap, arrival_ap, depart_date, return_date, adult_count)
+    count = 0
+
+    # 브라우저는 재사용하고, 검색마다 새 컨텍스트(쿠키/캐시 분리)만 만든다.
+    context = await browser.new_context()
+    try:
+        page = await context.new_page()
+        await page.goto(final_url, timeout=60000)
+        await page.wait_for_selector(FLIGHT_ITEM_SELECTOR, timeout=30000)
+
+        loop = asyncio.get_running_loop()
+        last_found = loop.time()
+        while count < MAX_FLIGHT_COUNT:
+            items = await page.query_selector_all(FLIGHT_ITEM_SELECTOR)
+            found = False
+            # 목록은 뒤로만 늘어나므로 이미 보낸 앞부분(count 개)은 건너뛴다.
+            for handle in items[count:MAX_FLIGHT_COUNT]:
+                item = BeautifulSoup(await handle.inner_html(), 'html.parser')
+                if item.select_one('.item_num__aKbk4') is None:
+                    # 가격이 아직 그려지지 않은 항목: 순서를 지키기 위해 여기서 멈추고 다음 조회에서 다시 본다.
+                    break
+                on_flight(parse_flight_item(item))
+                count += 1
+                found = True
+
+            if found:
+                last_found = loop.time()
+            elif (loop.time() - last_found) * 1000 >= SETTLE_MS:
+                break
+            await page.wait_for_timeout(POLL_INTERVAL_MS)
+    finally:
+        await context.close()
+
+    return count
 
+
+def emit(message):
+    # 워커 모드의 응답은 한 줄에 JSON 하나 (line-delimited JSON)
+    sys.stdout.write(json.dumps(message, ensure_ascii=False) + "\n")
+    sys.stdout.flush()
+
+
+async def run_worker():
+    """
+    상주(warm) 워커 모드.
+    브라우저를 한 번만 띄워두고 stdin으로 들어오는 작업(JSON 한 줄)을 순서대로 처리한다.
+      요청: {"type": "search", "id": "...", "depAp": "ICN", "arrAp": "NRT", "depDate": "20251210", "retDate": "20251220", "adult": 1}
+            {"type": "ping", "id": "..."}
+      응답: 항공편을 파싱하는 즉시 {"type": "flight", "id": "...", "data": {...}} 를 한 줄씩 내보내고
+            마지막에 {"type": "done", "id": "...", "count": N} / {"type": "error", "id": "...", "message": "..."}
+            {"type": "pong", "id": "..."}
+    """
+    loop = asyncio.get_running_loop()
     async with async_playwright() as p:
-        browser = await p.chromium.launch(headless=True) # 추출 시에는 headless=True가 빠르고 좋습니다.
-        page = await browser.new_page()
+        browser = await p.chromium.launch(headless=True)
+        emit({"type": "ready"})
 
         try:
-            await page.goto(final_url, timeout=60000)
-            await page.wait_for_selector(FLIGHT_ITEM_SELECTOR, timeout=30000) 
-            await page.wait_for_timeout(1000) 
-            
-            # 페이지의 전체 HTML 콘텐츠 가져오기
-            html_content = await page.content()
-            
-            # BeautifulSoup으로 HTML 파싱 시작
-            soup = BeautifulSoup(html_content, 'html.parser')
-            
-            # 1. 모든 개별 항공편 항목 찾기
-            all_flight_items = soup.select(FLIGHT_ITEM_SELECTOR)
-            flight_items = all_flight_items[:MAX_FLIGHT_COUNT]
-            
-            for item in flight_items:
-                data = {}
-                
-                # 2. 항공사 이름 추출
-                # item_ItemHeader__2fM4z > airline_Airlines__5_z0a > airline_text__WWkbY > airline_name__0Tw5w
-                airline_tag = item.select_one('.airline_name__0Tw5w')
-                data['airline'] = airline_tag.get_text().strip() if airline_tag else 'N/A'
-                
-                # 3. 가격 추출
-                # item_ItemPriceList__pAvJJ > item_summary__YgDrL > item_num__aKbk4
-                price_tag = item.select_one('.item_num__aKbk4')
-                price_text = price_tag.get_text().replace(',', '').strip() if price_tag else '0'
-                data['priceKRW'] = int(price_text)
-                
-                # 4. 여정 정보 추출 (시간, 공항 코드)
-                routes = item.select('.route_Route__HYsDn') # 왕편/복편 여정 두 개
-                if len(routes) >= 2:
-                    # 왕편 (출발 -> 도착)
-                    depart_time_tag = routes[0].select_one('.route_time__xWu7a')
-                    arrive_time_tag = routes[0].select_one('.route_airport__tBD9o:nth-child(2) .route_time__xWu7a')
-                    
-                    data['departureTime'] = depart_time_tag.get_text().strip() if depart_time_tag else 'N/A'
-                    data['arrivalTime'] = arrive_time_tag.get_text().strip() if arrive_time_tag else 'N/A'
-                    
-                    # 복편 (도착 -> 출발)
-                    return_depart_time_tag = routes[1].select_one('.route_time__xWu7a')
-                    return_arrive_time_tag = routes[1].select_one('.route_airport__tBD9o:nth-child(2) .route_time__xWu7a')
-
-                    data['returnDepartureTime'] = return_depart_time_tag.get_text().strip() if return_depart_time_tag else 'N/A'
-                    data['returnArrivalTime'] = return_arrive_time_tag.get_text().strip() if return_arrive_time_tag else 'N/A'
-
-                flight_data_list.append(data)
+            while True:
+                line = await loop.run_in_executor(None, sys.stdin.readline)
+                if not line:
+                    break # stdin이 닫히면 종료
+                line = line.strip()
+                if not line:
+                    continue
+
+                try:
+                    job = json.loads(line)
+                except ValueError:
+                    emit({"type": "error", "id": None, "message": "잘못된 요청 형식입니다."})
+                    continue
 
+                job_id = job.get("id")
+                job_type = job.get("type")
+
+                if job_type == "ping":
+                    emit({"type": "pong", "id": job_id})
+                    continue
+                if job_type == "shutdown":
+                    break
+                if job_type != "search":
+                    emit({"type": "error", "id": job_id, "message": f"알 수 없는 작업 유형입니다: {job_type}"})
+                    continue
+
+                # 브라우저가 죽었다면 다시 띄운다.
+                if not browser.is_connected():
+                    browser = await p.chromium.launch(headless=True)
+
+                try:
+                    count = await crawl_flights(
+                        browser,
+                        job["depAp"],
+                        job["arrAp"],
+                        job["depDate"],
+                        job["retDate"],
+                        int(job["adult"]),
+                        lambda data: emit({"type": "flight", "id": job_id, "data": data}),
+                    )
+                    emit({"type": "done", "id": job_id, "count": count})
+                except Exception as e:
+                    emit({"type": "error", "id": job_id, "message": f"크롤링 및 파싱 중 오류 발생: {e}"})
+        finally:
+            await browser.close()
+
+
+async def run_once(departure_ap, arrival_ap, depart_date, return_date, adult_count):
+    async with async_playwright() as p:
+        browser = await p.chromium.launch(headless=True) # 추출 시에는 headless=True가 빠르고 좋습니다.
+        try:
+            flights = []
+            await crawl_flights(browser, departure_ap, arrival_ap, depart_date, return_date, adult_count, flights.append)
             # 5. 결과 출력
-            print(json.dumps(flight_data_list, indent=4, ensure_ascii=False))
-            
+            print(json.dumps(flights, indent=4, ensure_ascii=False))
         except Exception as e:
             print(f"ERROR: 크롤링 및 파싱 중 오류 발생: {e}")
-        
         finally:
             await browser.close()
 
+
 if __name__ == "__main__":
-    global DEPARTURE_AP, ARRIVAL_AP, DEPART_DATE, RETURN_DATE, ADULT_COUNT
+    if len(sys.argv) >= 2 and sys.argv[1] == "--worker":
+        asyncio.run(run_worker())
+        sys.exit(0)
+
     if len(sys.argv) < 6:
-        sys.stderr.write("Usage: flight.py <DEPARTURE_AP> <ARRIVAL_AP> <DEPART_DATE> <RETURN_DATE> <ADULT_COUNT>\n")
+        sys.stderr.write("Usage: flight.py --worker | flight.py <DEPARTURE_AP> <ARRIVAL_AP> <DEPART_DATE> <RETURN_DATE> <ADULT_COUNT>\n")
         sys.exit(1)
 
     DEPARTURE_AP  = sys.argv[1] # "SEL"
@@ -92,5 +197,5 @@ if __name__ == "__main__":
     except ValueError:
         sys.stderr.write("ADULT_COUNT must be an integer.\n")
         sys.exit(1)
-    asyncio.run(crawl_and_parse_flights())
-    # "/c/Users/rlack/AppData/Local/Python/bin/python.exe" -X utf8 FRONT/teamproject/src/util/flight.py
\ No newline at end of file
+    asyncio.run(run_once(DEPARTURE_AP, ARRIVAL_AP, DEPART_DATE, RETURN_DATE, ADULT_COUNT))
+    # "/c/Users/rlack/AppData/Local/Python/bin/python.exe" -X utf8 FRONT/teamproject/src/util/flight.py
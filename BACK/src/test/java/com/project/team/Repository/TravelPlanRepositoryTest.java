@@ -0,0 +1,51 @@
+package com.project.team.Repository;
+
+import com.project.team.Dto.Travel.TravelPlanRow;
+import com.project.team.TravelFixture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일정 목록 조회의 쿼리 수 회귀 테스트.
+ * 일정 수가 늘어도 findPlanRowsByTravelId 는 SELECT 한 번으로 일정과 장소 정보를 모두 가져와야 한다. (N+1 이 생기면 실패)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TravelPlanRepositoryTest {
+
+    @Autowired
+    private TravelPlanRepository travelPlanRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void findPlanRowsByTravelIdUsesOneStatement(int planCount) {
+        TravelFixture fixture = TravelFixture.create(em, planCount, 3);
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TravelPlanRow> rows = travelPlanRepository.findPlanRowsByTravelId(fixture.travelId());
+        // 장소 정보까지 읽어도 추가 쿼리가 없어야 한다.
+        rows.forEach(row -> assertThat(row.name()).isNotNull());
+
+        assertThat(rows).hasSize(planCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.team.Service;
+
+import com.project.team.Dto.Travel.TravelPlanUpdateRequest;
+import com.project.team.TravelFixture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일정 이동/삭제 비용이 일차의 일정 수와 관계없이 일정한지 확인한다.
+ * 정렬 키(rankKey) 방식에서는 이동하는 일정 한 행만 UPDATE 하고, 삭제는 다른 일정을 건드리지 않는다.
+ * 일차 크기가 달라도 statement 수가 같은지 검사한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TravelPlanServiceTest {
+
+    private static final int[] DAY_SIZES = {5, 40, 100};
+
+    @Autowired
+    private TravelPlanService travelPlanService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private record Cost(long statements, long entityUpdates, long entityDeletes) {}
+
+    @Test
+    void moveCostDoesNotGrowWithDaySize() {
+        List<Cost> costs = new ArrayList<>();
+        for (int size : DAY_SIZES) {
+            TravelFixture fixture = TravelFixture.create(em, size, 1);
+            Long lastPlanId = fixture.planIds().get(size - 1);
+
+            // 마지막 일정을 맨 앞으로 (예전 방식이면 나머지 일정 전부의 sequence 를 고침)
+            Cost cost = measure(() -> travelPlanService.updateTravelPlan(fixture.travelId(), lastPlanId,
+                    new TravelPlanUpdateRequest(1, 1, "이동", null), fixture.userId()));
+            costs.add(cost);
+        }
+
+        assertThat(costs).allSatisfy(cost -> assertThat(cost.entityUpdates()).isEqualTo(1));
+        assertThat(costs).extracting(Cost::statements).containsOnly(costs.get(0).statements());
+    }
+
+    @Test
+    void deleteCostDoesNotGrowWithDaySize() {
+        List<Cost> costs = new ArrayList<>();
+        for (int size : DAY_SIZES) {
+            TravelFixture fixture = TravelFixture.create(em, size, 1);
+            Long firstPlanId = fixture.planIds().get(0);
+
+            Cost cost = measure(() -> travelPlanService.deleteTravelPlan(fixture.travelId(), firstPlanId, fixture.userId()));
+            costs.add(cost);
+        }
+
+        assertThat(costs).allSatisfy(cost -> {
+            assertThat(cost.entityUpdates()).isZero();
+            assertThat(cost.entityDeletes()).isEqualTo(1);
+        });
+        assertThat(costs).extracting(Cost::statements).containsOnly(costs.get(0).statements());
+    }
+
+    private Cost measure(Runnable action) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        em.flush();
+        Cost cost = new Cost(statistics.getPrepareStatementCount(), statistics.getEntityUpdateCount(),
+                statistics.getEntityDeleteCount());
+        em.clear();
+        return cost;
+    }
+}
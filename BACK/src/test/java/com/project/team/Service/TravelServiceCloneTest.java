@@ -0,0 +1,69 @@
+package com.project.team.Service;
+
+import com.project.team.Dto.Travel.TravelResponse;
+import com.project.team.Repository.TravelPlanRepository;
+import com.project.team.TravelFixture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여행 복사(cloneTravel)의 JDBC 배치 효과 확인.
+ * 같은 여행을 세션 배치 크기 1 (배치 없음)과 50 으로 한 번씩 복사해 Hibernate Statistics 의 statement 수를 비교한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TravelServiceCloneTest {
+
+    private static final int PLAN_COUNT = 200;
+
+    @Autowired
+    private TravelService travelService;
+
+    @Autowired
+    private TravelPlanRepository travelPlanRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void batchingCutsCloneStatements() {
+        TravelFixture source = TravelFixture.create(em, PLAN_COUNT, 5);
+
+        long unbatched = cloneStatements(source.travelId(), source.userId(), 1);
+        long batched = cloneStatements(source.travelId(), source.userId(), 50);
+
+        // 배치 없이는 일정마다 INSERT 한 번
+        assertThat(unbatched).isGreaterThanOrEqualTo(PLAN_COUNT);
+        // 배치면 일정 INSERT 4번 + 시퀀스 조회 몇 번 + 조회/여행 저장 몇 번
+        assertThat(batched * 5).isLessThan(unbatched);
+    }
+
+    /**
+     * 세션의 JDBC 배치 크기를 batchSize 로 두고 복사했을 때 준비한 statement 수
+     */
+    private long cloneStatements(Long travelId, Long userId, int batchSize) {
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TravelResponse copy = travelService.cloneTravel(travelId, userId);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(PLAN_COUNT + 1); // 일정 + 여행
+        em.clear();
+        assertThat(travelPlanRepository.findByTravelId(copy.id())).hasSize(PLAN_COUNT);
+        return statements;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.team;
+
+import com.project.team.Entity.Place;
+import com.project.team.Entity.Travel;
+import com.project.team.Entity.TravelPlan;
+import com.project.team.Entity.User;
+import com.project.team.Service.TravelPlanRankService;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 쿼리 수/비용 테스트용 데이터. 사용자 1명, 그 사용자의 여행 1개, 일정 planCount 개(일정마다 장소 1개)를 저장한다.
+ * 일정은 i 번째가 (i % days) + 1 일차, 정렬 키 (i + 1) * GAP 이다. 저장 후 flush/clear 하므로 이후 조회는 DB 에서 읽는다.
+ *
+ * @param planIds 저장 순서대로의 일정 id
+ */
+public record TravelFixture(Long travelId, Long userId, List<Long> planIds) {
+
+    public static TravelFixture create(EntityManager em, int planCount, int days) {
+        String prefix = "fixture-" + UUID.randomUUID();
+        User user = new User(prefix + "@test.com", "password", "tester");
+        em.persist(user);
+        Travel travel = new Travel(user, "JP", "테스트 여행", LocalDate.now(), LocalDate.now().plusDays(days - 1), 1, "ICN");
+        em.persist(travel);
+
+        List<TravelPlan> plans = new ArrayList<>(planCount);
+        for (int i = 0; i < planCount; i++) {
+            Place place = new Place();
+            place.setGooglePlaceId(prefix + "-" + i);
+            place.setName("장소 " + i);
+            place.setType("관광지");
+            place.setLatitude(35.0);
+            place.setLongitude(139.0);
+            em.persist(place);
+            TravelPlan plan = new TravelPlan(travel, i + 1, (i + 1) * TravelPlanRankService.GAP, "메모 " + i, i % days + 1, place);
+            em.persist(plan);
+            plans.add(plan);
+        }
+        em.flush();
+        em.clear();
+        return new TravelFixture(travel.getId(), user.getId(), plans.stream().map(TravelPlan::getId).toList());
+    }
+}
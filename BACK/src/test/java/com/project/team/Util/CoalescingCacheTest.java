@@ -0,0 +1,69 @@
+package com.project.team.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingCacheTest {
+
+    @Test
+    void loaderErrorReachesCoalescedWaiters() throws Exception {
+        CoalescingCache<String, String> cache = new CoalescingCache<>(10, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> loader = executor.submit(() -> cache.get("key", key -> {
+                loading.countDown();
+                await(release);
+                throw new AssertionError("loader failed");
+            }));
+            loading.await();
+            Future<String> waiter = executor.submit(() -> cache.get("key", key -> "unused"));
+            while (cache.stats().coalesced() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> loader.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 실패한 로딩은 남지 않으므로 다음 호출은 다시 로딩한다.
+        assertThat(cache.get("key", key -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void asyncLoaderErrorCompletesFuture() {
+        CoalescingCache<String, String> cache = new CoalescingCache<>(10, Duration.ofMinutes(1));
+
+        CompletableFuture<String> failed = cache.getAsync("key", key -> {
+            throw new AssertionError("loader failed");
+        });
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(cache.getAsync("key", key -> CompletableFuture.completedFuture("loaded")).join()).isEqualTo("loaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.project.team.Util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteOptimizerTest {
+
+    // 도쿄 부근 (약 20km 범위)
+    private static final double BASE_LAT = 35.68;
+    private static final double BASE_LON = 139.76;
+    private static final double SPREAD = 0.2;
+
+    @Test
+    void rejectsMismatchedCoordinates() {
+        assertThatThrownBy(() -> RouteOptimizer.optimize(new double[2], new double[3], false, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsOrderForZeroToTwoStops() {
+        for (int n = 0; n <= 2; n++) {
+            double[][] stops = randomStops(new Random(n), n);
+            RouteOptimizer.Result result = RouteOptimizer.optimize(stops[0], stops[1], false, false);
+
+            assertThat(result.order()).isEqualTo(identity(n));
+            assertThat(result.optimizedMeters()).isEqualTo(result.initialMeters());
+        }
+    }
+
+    @Test
+    void reordersThreeStops() {
+        // 0 → 1 → 2 가 한 줄에 있지만 입력 순서는 0, 2, 1 (2 를 갔다가 되돌아옴)
+        double[] lat = {BASE_LAT, BASE_LAT, BASE_LAT};
+        double[] lon = {BASE_LON, BASE_LON + 0.02, BASE_LON + 0.01};
+
+        RouteOptimizer.Result result = RouteOptimizer.optimize(lat, lon, true, false);
+
+        assertThat(result.order()).containsExactly(0, 2, 1);
+        assertThat(result.optimizedMeters()).isLessThan(result.initialMeters());
+        assertThat(result.optimizedMeters()).isCloseTo(length(lat, lon, result.order()), within(1e-6));
+    }
+
+    @Test
+    void keepsOrderWhenNothingCanBeImproved() {
+        // 이미 한 줄로 순서대로 놓인 경로
+        int n = 8;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = BASE_LAT;
+            lon[i] = BASE_LON + i * 0.01;
+        }
+
+        RouteOptimizer.Result result = RouteOptimizer.optimize(lat, lon, true, true);
+
+        assertThat(result.order()).isEqualTo(identity(n));
+        assertThat(result.optimizedMeters()).isEqualTo(result.initialMeters());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 4, 10, 50})
+    void pinsFirstAndLastStops(int n) {
+        for (long seed = 0; seed < 20; seed++) {
+            double[][] stops = randomStops(new Random(seed), n);
+
+            int[] both = RouteOptimizer.optimize(stops[0], stops[1], true, true).order();
+            assertThat(both[0]).isZero();
+            assertThat(both[n - 1]).isEqualTo(n - 1);
+
+            assertThat(RouteOptimizer.optimize(stops[0], stops[1], true, false).order()[0]).isZero();
+            assertThat(RouteOptimizer.optimize(stops[0], stops[1], false, true).order()[n - 1]).isEqualTo(n - 1);
+        }
+    }
+
+    @Test
+    void neverLongerThanInitialOnRandomFiftyStops() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            double[][] stops = randomStops(random, 50);
+            boolean fixFirst = random.nextBoolean();
+            boolean fixLast = random.nextBoolean();
+
+            RouteOptimizer.Result result = RouteOptimizer.optimize(stops[0], stops[1], fixFirst, fixLast);
+
+            assertThat(sorted(result.order())).isEqualTo(identity(50));
+            assertThat(result.initialMeters()).isCloseTo(length(stops[0], stops[1], identity(50)), within(1e-6));
+            assertThat(result.optimizedMeters()).isCloseTo(length(stops[0], stops[1], result.order()), within(1e-6));
+            assertThat(result.optimizedMeters()).isLessThanOrEqualTo(result.initialMeters());
+        }
+    }
+
+    private static double[][] randomStops(Random random, int n) {
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = BASE_LAT + random.nextDouble() * SPREAD;
+            lon[i] = BASE_LON + random.nextDouble() * SPREAD;
+        }
+        return new double[][]{lat, lon};
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static int[] sorted(int[] order) {
+        int[] copy = order.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static double length(double[] lat, double[] lon, int[] order) {
+        double length = 0;
+        for (int i = 1; i < order.length; i++) {
+            length += GeoHash.distanceMeters(lat[order[i - 1]], lon[order[i - 1]], lat[order[i]], lon[order[i]]);
+        }
+        return length;
+    }
+}
@@ -4,8 +4,7 @@ import "../../css/header.css";
 import { useEffect, useState } from "react";
 import axios from "axios";
 import { Crown, Edit2, Eye, UsersRound, X } from 'lucide-react'
-import { useQuery } from "@tanstack/react-query";
-import { useTravelData } from "../../hooks/useTravelData";
+import { useQuery, useQueryClient } from "@tanstack/react-query";
 
 type UserList = {
   permissionId: number,
@@ -26,7 +25,7 @@ function Header({
   const [role, setRole] = useState("");
   const [open, setOpen] = useState(false);
   const travelId = location.pathname.split("/")[2];
-  const { stompClient } = useTravelData(travelId);
+  const queryClient = useQueryClient();
   useEffect(() => {
     if (travelId === undefined) return;
     const getRole = async () => {
@@ -50,10 +49,8 @@ function Header({
   if (travelId !== undefined && !data) return <div>NO data</div>
   const handleDelete = async (permissionId: number) => {
     await axios.delete(`${import.meta.env.VITE_BASE_URL}/travels/${travelId}/share/${permissionId}`);
-    stompClient?.publish({
-      destination: `/app/travels/${travelId}`,
-      body: "PLAN_UPDATED",
-    });
+    // 다른 참여자에게는 서버가 커밋 후 MEMBERS_UPDATED 를 보낸다.
+    queryClient.invalidateQueries({ queryKey: ['userList', travelId] });
     setOpen(false);
   }
   const TravelInfoArea = (
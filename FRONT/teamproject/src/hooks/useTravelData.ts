@@ -4,7 +4,7 @@ import {
   getCategoryFromTypes,
 } from "./../util/planUtils";
 import axios from "axios";
-import { useCallback, useEffect, useMemo, useState } from "react";
+import { useCallback, useEffect, useMemo, useRef, useState } from "react";
 import { useQuery, useQueryClient } from "@tanstack/react-query";
 import SockJS from "sockjs-client";
 import { Client, IMessage } from "@stomp/stompjs";
@@ -24,6 +24,7 @@ import {
   PlaceSearchResult,
   Travel,
   TravelPlan,
+  TravelPlanEvent,
   UpdateTravelRequest,
 } from "../util/types";
 import { AlertColor } from "@mui/material";
@@ -34,6 +35,32 @@ const DEFAULT_LOCATION = {
   lon: 126.9780,
 };
 
+// 일정 목록 ETag("12")에서 버전 숫자를 꺼낸다.
+const parseVersion = (eTag: string) => Number(eTag.match(/\d+/)?.[0] ?? NaN);
+
+// 서버가 보낸 변경 내용을 현재 일정 목록에 반영한다.
+const applyPlanEvent = (
+  current: TravelPlan[],
+  event: TravelPlanEvent
+): TravelPlan[] => {
+  if (event.type === "PLACE_UPDATED") {
+    const place = event.place;
+    if (!place) return current;
+    return current.map((p) =>
+      p.place.placeId === place.placeId ? { ...p, place } : p
+    );
+  }
+  if (event.days.length > 0) {
+    // 해당 일차들은 받은 목록으로 통째로 교체
+    const days = new Set(event.days);
+    return [...current.filter((p) => !days.has(p.dayNumber)), ...event.plans].sort(
+      (a, b) => a.dayNumber - b.dayNumber || a.sequence - b.sequence
+    );
+  }
+  const changed = new Map(event.plans.map((p) => [p.planId, p]));
+  return current.map((p) => changed.get(p.planId) ?? p);
+};
+
 export function useTravelData(travelId: string | undefined) {
   const queryClient = useQueryClient();
   const [stompClient, setStompClient] = useState<Client | null>(null);
@@ -71,6 +98,9 @@ export function useTravelData(travelId: string | undefined) {
   // 5. 지도가 준비되었는지 확인하는 상태
   const [isMapReady, setIsMapReady] = useState(false);
 
+  // 마지막으로 받은 일정 목록의 ETag (바뀐 게 없으면 서버가 304 로 응답)
+  const plansETag = useRef<{ travelId: string; eTag: string } | null>(null);
+
   // 웹소켓 연결 설정
   useEffect(() => {
     if (!travelId) return;
@@ -85,13 +115,32 @@ export function useTravelData(travelId: string | undefined) {
         // 여행 계획 변경 구독
         console.log("연결")
         client.subscribe(`/chat/travels/${travelId}`, (message: IMessage) => {
-          if (message.body === "PLAN_UPDATED") {
-            console.log("Plan-Update 메시지 수신, 쿼리 무효화", travelId);
-            queryClient.invalidateQueries({ queryKey: ["plans", travelId] });
+          const event: TravelPlanEvent = JSON.parse(message.body);
+          if (event.type === "MEMBERS_UPDATED") {
             queryClient.invalidateQueries({ queryKey: ["travelInfo", travelId] });
-            queryClient.invalidateQueries({ queryKey: ['userList', travelId] });
+            queryClient.invalidateQueries({ queryKey: ["userList", travelId] });
+            return;
+          }
+
+          const current = queryClient.getQueryData<TravelPlan[]>(["plans", travelId]);
+          const known =
+            plansETag.current?.travelId === travelId
+              ? parseVersion(plansETag.current.eTag)
+              : NaN;
+          // 이미 반영된 변경 (본인이 보낸 변경을 다시 조회한 경우 등)
+          if (event.version == null || event.version <= known) return;
+
+          if (current && event.version === known + 1) {
+            // 바로 다음 버전이면 다시 받지 않고 로컬 목록만 고친다.
+            queryClient.setQueryData<TravelPlan[]>(
+              ["plans", travelId],
+              applyPlanEvent(current, event)
+            );
+            plansETag.current = { travelId, eTag: `"${event.version}"` };
+          } else {
+            // 놓친 변경이 있으면 다시 조회
+            queryClient.invalidateQueries({ queryKey: ["plans", travelId] });
           }
-          
         });
 
       },
@@ -183,10 +232,26 @@ export function useTravelData(travelId: string | undefined) {
   } = useQuery<TravelPlan[]>({
     queryKey: ["plans", travelId], // 쿼리 키에 travelId 포함
     queryFn: async () => {
+      const config = getAxiosConfig();
+      const cached = queryClient.getQueryData<TravelPlan[]>(["plans", travelId]);
+      const eTag =
+        cached && plansETag.current?.travelId === travelId
+          ? plansETag.current.eTag
+          : null;
       const res = await axios.get<TravelPlan[]>(
         `${API_BASE_URL}/travels/${travelId}/plans`,
-        getAxiosConfig()
+        {
+          ...config,
+          headers: { ...config.headers, ...(eTag ? { "If-None-Match": eTag } : {}) },
+          validateStatus: (status) =>
+            (status >= 200 && status < 300) || status === 304,
+        }
       );
+      if (res.status === 304 && cached) {
+        return cached;
+      }
+      const newETag = res.headers["etag"];
+      plansETag.current = newETag && travelId ? { travelId, eTag: newETag } : null;
       return res.data;
     },
     enabled: !!travelId,
@@ -424,12 +489,8 @@ export function useTravelData(travelId: string | undefined) {
           newPlanRequest,
           getAxiosConfig()
         );
+        // 다른 참여자에게는 서버가 커밋 후 변경 내용을 직접 보낸다.
         queryClient.invalidateQueries({ queryKey: ["plans", travelId] });
-        // 웹소켓으로 변경사항 전송
-        stompClient?.publish({
-          destination: `/app/travels/${travelId}`,
-          body: "PLAN_UPDATED",
-        });
         setSnackbar({
           open: true,
           message: `${place.name} 일정이 추가되었습니다.`,
@@ -444,7 +505,7 @@ export function useTravelData(travelId: string | undefined) {
         });
       }
     },
-    [travelId, plans, selectedDay, stompClient, queryClient]
+    [travelId, plans, selectedDay, queryClient]
   );
 
   // Handler: 일정 삭제
@@ -477,12 +538,6 @@ export function useTravelData(travelId: string | undefined) {
           });
         });
         queryClient.invalidateQueries({ queryKey: ["plans", travelId] });
-        // 웹소켓으로 변경사항 전송
-        stompClient?.publish({
-          destination: `/app/travels/${travelId}`,
-          body: "PLAN_UPDATED",
-        });
-        console.log("전송완료" + travelId)
         setSnackbar({
           open: true,
           message: "일정이 삭제되었습니다.",
@@ -503,7 +558,7 @@ export function useTravelData(travelId: string | undefined) {
         });
       }
     },
-    [travelId, stompClient, queryClient]
+    [travelId, queryClient]
   );
 
   // Derived State: 추가된 장소 ID 맵 (useMemo로 최적화)
@@ -29,9 +29,32 @@ export type TravelPlan = {
   dayNumber: number;
   sequence: number;
   memo: string | null;
+  version: number; // 낙관적 잠금 버전 (수정 요청 시 함께 보내면 충돌 시 409)
   place: PlaceResponse;
 };
 
+/**
+ * 백엔드 TravelPlanEvent Record와 일치하는 타입 (/chat/travels/{travelId} 로 수신)
+ * - days 가 있으면 plans 는 그 일차들의 전체 목록 (일차를 통째로 교체)
+ * - days 가 비어 있으면 plans 는 바뀐 일정 행들 (같은 planId 교체)
+ * - PLACE_UPDATED 는 place.placeId 가 같은 일정의 장소 정보를 교체
+ */
+export type TravelPlanEvent = {
+  type:
+    | "PLAN_ADDED"
+    | "PLAN_MOVED"
+    | "PLAN_DELETED"
+    | "PLAN_EDITED"
+    | "PLANS_CHANGED"
+    | "PLACE_UPDATED"
+    | "MEMBERS_UPDATED";
+  travelId: number;
+  version: number | null; // 변경 후 일정 목록 버전 (일정 조회 ETag 와 같은 값)
+  days: number[];
+  plans: TravelPlan[];
+  place: PlaceResponse | null;
+};
+
 /**
  * 백엔드 AddPlanRequest Record와 일치하는 타입
  */